@@ -0,0 +1,81 @@
+package org.testcontainers.containers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PUT and GET throughput of small and large objects against one running
+ * container. Multiply the score by {@code objectSize} for bytes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class CephDataPathBenchmark {
+    private static final int KEYS = 64;
+
+    @Param({"4096", "4194304"})
+    public int objectSize;
+
+    private CephContainer container;
+
+    private S3Client s3;
+
+    private String bucket;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void startContainer() {
+        container = new CephContainer();
+        container.start();
+        s3 = CephS3Clients.forContainer(container).getS3Client();
+        bucket = container.getCephBucket();
+        payload = new byte[objectSize];
+        new Random(42).nextBytes(payload);
+        for (int key = 0; key < KEYS; key++) {
+            put(key);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContainer() {
+        container.stop();
+    }
+
+    @Benchmark
+    public Object put() {
+        return put(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public byte[] get() {
+        int key = ThreadLocalRandom.current().nextInt(KEYS);
+        return s3.getObjectAsBytes(b -> b.bucket(bucket).key("benchmark/" + key)).asByteArrayUnsafe();
+    }
+
+    private Object put(int key) {
+        return s3.putObject(b -> b.bucket(bucket).key("benchmark/" + key), RequestBody.fromBytes(payload));
+    }
+}
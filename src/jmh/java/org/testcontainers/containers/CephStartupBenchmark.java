@@ -0,0 +1,143 @@
+package org.testcontainers.containers;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadBucketResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time of {@link CephContainer#start()}, from a cold bootstrap and from a
+ * warm-start snapshot, with all daemons and with the S3-only profile, and of
+ * the first S3 request against a freshly started container.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class CephStartupBenchmark {
+
+    /**
+     * A container that is created, but not started, before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Created {
+        /**
+         * "cold" bootstraps the cluster on every start, "warm" starts from the
+         * snapshot image created during the trial setup.
+         */
+        @Param({"cold", "warm"})
+        public String mode;
+
+        /**
+         * "full" runs every daemon of the demo image, "s3-only" uses
+         * {@link CephContainer#withS3OnlyProfile()}.
+         */
+        @Param({"full", "s3-only"})
+        public String profile;
+
+        CephContainer container;
+
+        @Setup(Level.Trial)
+        public void prepareSnapshot() {
+            CephStartupBenchmark.prepareSnapshot(mode, profile);
+        }
+
+        @Setup(Level.Invocation)
+        public void createContainer() {
+            container = newContainer(mode, profile);
+        }
+
+        @TearDown(Level.Invocation)
+        public void stopContainer() {
+            container.stop();
+        }
+    }
+
+    /**
+     * A container that is started, with an S3 client built for it but not yet
+     * used, before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Started {
+        @Param({"cold", "warm"})
+        public String mode;
+
+        CephContainer container;
+
+        S3Client s3Client;
+
+        @Setup(Level.Trial)
+        public void prepareSnapshot() {
+            CephStartupBenchmark.prepareSnapshot(mode, "full");
+        }
+
+        @Setup(Level.Invocation)
+        public void startContainer() {
+            container = newContainer(mode, "full");
+            container.start();
+            s3Client = CephS3Clients.forContainer(container).getS3Client();
+        }
+
+        @TearDown(Level.Invocation)
+        public void stopContainer() {
+            container.stop();
+        }
+    }
+
+    /**
+     * Secondary results per start, in milliseconds.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StartupTimings {
+        public long readinessWaitMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            readinessWaitMillis = 0;
+        }
+    }
+
+    @Benchmark
+    public CephContainer start(Created state, StartupTimings timings) {
+        state.container.start();
+        timings.readinessWaitMillis += state.container.getReadinessWaitDuration().toMillis();
+        return state.container;
+    }
+
+    @Benchmark
+    public HeadBucketResponse firstRequest(Started state) {
+        return state.s3Client.headBucket(b -> b.bucket(state.container.getCephBucket()));
+    }
+
+    private static void prepareSnapshot(String mode, String profile) {
+        if ("warm".equals(mode)) {
+            try (CephContainer primer = newContainer(mode, profile)) {
+                primer.start();
+            }
+        }
+    }
+
+    private static CephContainer newContainer(String mode, String profile) {
+        CephContainer created = new CephContainer();
+        if ("s3-only".equals(profile)) {
+            created.withS3OnlyProfile();
+        }
+        return "warm".equals(mode) ? created.withWarmStart() : created;
+    }
+}
@@ -0,0 +1,472 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs admin commands such as {@code radosgw-admin} and {@code ceph} through
+ * one long-lived shell session inside a {@link CephContainer}.
+ * <br>
+ * A separate {@code docker exec} per command pays exec setup on every call.
+ * Here the session is created once and commands are written to its stdin,
+ * so several commands can be pipelined without waiting for each other's
+ * round trip. Commands run one after the other in submission order, each in
+ * its own subshell so {@code set -e} or {@code exit} cannot end the session,
+ * and are safe to submit from concurrent threads.
+ * <br>
+ * Every {@code radosgw-admin} or {@code ceph} invocation is still its own
+ * process and connects to the cluster on its own; what the session saves is
+ * the exec round trip around it.
+ * <br>
+ * A command that does not finish within the command timeout, counted from
+ * its submission, would block every command queued behind it. It fails with
+ * an {@link IllegalStateException}, and so do the commands queued behind it.
+ * The shell session is killed together with whatever it is running. The
+ * container opens a new session on the next {@link CephContainer#getCephAdmin()}.
+ * <br>
+ * Obtain it with {@link CephContainer#getCephAdmin()}; it is closed when the
+ * container stops.
+ */
+public final class CephAdmin implements AutoCloseable {
+    static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final Duration KILL_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String marker = "__CEPH_ADMIN_" + UUID.randomUUID().toString().replace("-", "") + "__";
+
+    private final String stderrFile = "/tmp/" + marker + ".err";
+
+    private final StdinStream stdin = new StdinStream();
+
+    private final Deque<PendingCommand> pending = new ArrayDeque<>();
+
+    private final byte[] markerBytes = ("\n" + marker + " ").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Session stdout not yet consumed by a completed command lies between
+     * {@link #stdoutStart} and {@link #stdoutEnd}.
+     */
+    private byte[] stdout = new byte[8192];
+
+    private int stdoutStart;
+
+    private int stdoutEnd;
+
+    /**
+     * No marker of the oldest pending command starts before this offset, so
+     * the search does not rescan output it has already seen.
+     */
+    private int markerSearchFrom;
+
+    private final Duration commandTimeout;
+
+    private Closeable session;
+
+    private Runnable kill = () -> {
+    };
+
+    private volatile boolean closed;
+
+    CephAdmin(Duration commandTimeout) {
+        this.commandTimeout = commandTimeout;
+    }
+
+    /**
+     * Starts a {@code bash} exec session in the container and attaches to it.
+     */
+    static CephAdmin open(DockerClient dockerClient, String containerId, Duration commandTimeout) {
+        CephAdmin admin = new CephAdmin(commandTimeout);
+        String execId = dockerClient.execCreateCmd(containerId)
+                .withAttachStdin(true)
+                .withAttachStdout(true)
+                .withAttachStderr(true)
+                .withCmd("bash")
+                .exec()
+                .getId();
+        admin.attach(dockerClient.execStartCmd(execId)
+                .withStdIn(admin.stdin)
+                .exec(new ResultCallback.Adapter<Frame>() {
+                    @Override
+                    public void onNext(Frame frame) {
+                        if (frame.getStreamType() == StreamType.STDOUT || frame.getStreamType() == StreamType.RAW) {
+                            admin.receive(frame.getPayload());
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        admin.terminate(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        admin.terminate(new IllegalStateException("Ceph admin session ended"));
+                    }
+                }));
+        // $$ is the session shell even inside the per-command subshell
+        CompletableFuture<CephAdminResult> shellPid = admin.submit("echo $$");
+        admin.attachKill(() -> {
+            CephAdminResult pid = shellPid.getNow(null);
+            if (pid != null) {
+                killProcessTree(dockerClient, containerId, pid.getStdout().trim());
+            }
+        });
+        return admin;
+    }
+
+    /**
+     * Kills a process and all its descendants from a separate exec, as the
+     * session's own stdin is stuck behind the command that hangs.
+     */
+    private static void killProcessTree(DockerClient dockerClient, String containerId, String pid) {
+        String execId = dockerClient.execCreateCmd(containerId)
+                .withCmd("bash", "-c", "kill_tree() {\n" +
+                        "  for child in $(pgrep -P \"$1\"); do kill_tree \"$child\"; done\n" +
+                        "  kill -KILL \"$1\" 2> /dev/null\n" +
+                        "}\n" +
+                        "kill_tree " + CephContainer.shellQuote(pid))
+                .exec()
+                .getId();
+        try {
+            dockerClient.execStartCmd(execId)
+                    .exec(new ResultCallback.Adapter<>())
+                    .awaitCompletion(KILL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a shell command without waiting for it to finish.
+     *
+     * @param command bash command line
+     * @return the result once the command has run
+     */
+    public CompletableFuture<CephAdminResult> submit(String command) {
+        PendingCommand pendingCommand = new PendingCommand(command);
+        String framed = "(\n" + command + "\n) 2> " + stderrFile + " < /dev/null\n" +
+                "printf '\\n" + marker + " %d %d\\n' $? $(wc -c < " + stderrFile + ")\n" +
+                "cat " + stderrFile + "\n";
+        synchronized (pending) {
+            if (closed) {
+                pendingCommand.result.completeExceptionally(new IllegalStateException("Ceph admin session is closed"));
+                return pendingCommand.result;
+            }
+            pending.addLast(pendingCommand);
+            stdin.write(framed.getBytes(StandardCharsets.UTF_8));
+        }
+        CompletableFuture.delayedExecutor(commandTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> timeOut(pendingCommand));
+        return pendingCommand.result;
+    }
+
+    /**
+     * Runs a shell command and waits for its result, whatever its exit code.
+     */
+    public CephAdminResult exec(String command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Pipelines all commands into the session at once and waits for all of
+     * them, which costs a single round trip instead of one per command.
+     *
+     * @return results in the order of the commands
+     */
+    public List<CephAdminResult> batch(List<String> commands) {
+        List<CompletableFuture<CephAdminResult>> results = commands.stream()
+                .map(this::submit)
+                .collect(Collectors.toList());
+        List<CephAdminResult> completed = new ArrayList<>(results.size());
+        for (CompletableFuture<CephAdminResult> result : results) {
+            try {
+                completed.add(result.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Runs {@code radosgw-admin} with the given arguments.
+     *
+     * @return the parsed JSON output, or null if it printed nothing
+     * @throws IllegalStateException if the command failed
+     */
+    public Object radosgwAdmin(String... args) {
+        return exec(command("radosgw-admin", args)).checkSuccess().getJson();
+    }
+
+    /**
+     * Runs the {@code ceph} CLI with the given arguments and JSON output.
+     *
+     * @return the parsed JSON output, or null if it printed nothing
+     * @throws IllegalStateException if the command failed
+     */
+    public Object ceph(String... args) {
+        String[] withFormat = Arrays.copyOf(args, args.length + 1);
+        withFormat[args.length] = "--format=json";
+        return exec(command("ceph", withFormat)).checkSuccess().getJson();
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        terminate(new IllegalStateException("Ceph admin session is closed"));
+        try {
+            if (session != null) {
+                session.close();
+            }
+        } catch (IOException e) {
+            // the session is going away either way
+        }
+    }
+
+    /**
+     * @return the stream the shell session reads its commands from
+     */
+    InputStream getStdin() {
+        return stdin;
+    }
+
+    /**
+     * @param session closed together with this admin channel
+     */
+    void attach(Closeable session) {
+        this.session = session;
+    }
+
+    /**
+     * @param kill kills the shell session and what it runs, used when a
+     *             command times out
+     */
+    void attachKill(Runnable kill) {
+        this.kill = kill;
+    }
+
+    /**
+     * @return a shell command line with every argument quoted
+     */
+    static String command(String executable, String... args) {
+        StringBuilder command = new StringBuilder(executable);
+        for (String arg : args) {
+            command.append(' ').append(CephContainer.shellQuote(arg));
+        }
+        return command.toString();
+    }
+
+    /**
+     * Feeds stdout of the shell session.
+     */
+    void receive(byte[] payload) {
+        synchronized (pending) {
+            append(payload);
+            while (completeHead()) {
+                // keep completing commands while whole responses are buffered
+            }
+        }
+    }
+
+    /**
+     * Appends to the buffered stdout. Consumed bytes are only dropped, and the
+     * buffer only grows, when it is full, so buffering stays linear in the
+     * size of the output however it is split into frames.
+     */
+    private void append(byte[] payload) {
+        if (stdoutEnd + payload.length > stdout.length) {
+            int buffered = stdoutEnd - stdoutStart;
+            byte[] target = buffered + payload.length > stdout.length
+                    ? new byte[Math.max(stdout.length * 2, buffered + payload.length)]
+                    : stdout;
+            System.arraycopy(stdout, stdoutStart, target, 0, buffered);
+            markerSearchFrom -= stdoutStart;
+            stdout = target;
+            stdoutStart = 0;
+            stdoutEnd = buffered;
+        }
+        System.arraycopy(payload, 0, stdout, stdoutEnd, payload.length);
+        stdoutEnd += payload.length;
+    }
+
+    /**
+     * Completes the oldest pending command if its full response is buffered:
+     * stdout, a newline, the marker line with exit code and stderr length,
+     * then the stderr bytes.
+     */
+    private boolean completeHead() {
+        int markerAt = indexOf(stdout, markerSearchFrom, stdoutEnd, markerBytes);
+        if (markerAt < 0) {
+            // A marker may still start in the last bytes once more output arrives
+            markerSearchFrom = Math.max(markerSearchFrom, stdoutEnd - markerBytes.length + 1);
+            return false;
+        }
+        markerSearchFrom = markerAt;
+        int lineEnd = markerAt + markerBytes.length;
+        while (lineEnd < stdoutEnd && stdout[lineEnd] != '\n') {
+            lineEnd++;
+        }
+        if (lineEnd >= stdoutEnd) {
+            return false;
+        }
+        String[] status = new String(stdout, markerAt + markerBytes.length, lineEnd - markerAt - markerBytes.length,
+                StandardCharsets.UTF_8).trim().split(" ");
+        int stderrLength = Integer.parseInt(status[1]);
+        int stderrStart = lineEnd + 1;
+        if (stdoutEnd < stderrStart + stderrLength) {
+            return false;
+        }
+        PendingCommand head = pending.pollFirst();
+        if (head != null) {
+            head.result.complete(new CephAdminResult(
+                    head.command,
+                    Integer.parseInt(status[0]),
+                    new String(stdout, stdoutStart, markerAt - stdoutStart, StandardCharsets.UTF_8),
+                    new String(stdout, stderrStart, stderrLength, StandardCharsets.UTF_8)
+            ));
+        }
+        stdoutStart = stderrStart + stderrLength;
+        markerSearchFrom = stdoutStart;
+        return true;
+    }
+
+    private void timeOut(PendingCommand command) {
+        synchronized (pending) {
+            if (closed || !pending.contains(command)) {
+                return;
+            }
+        }
+        terminate(new IllegalStateException(String.format(
+                "Ceph admin command did not finish within %s, the admin session was killed: %s",
+                commandTimeout,
+                command.command
+        )));
+        close();
+        kill.run();
+    }
+
+    void terminate(Throwable cause) {
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stdin.close();
+            PendingCommand command;
+            while ((command = pending.pollFirst()) != null) {
+                command.result.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * @return the first offset in {@code [from, to)} where {@code target}
+     * starts and fully fits, or -1
+     */
+    private static int indexOf(byte[] buffer, int from, int to, byte[] target) {
+        outer:
+        for (int i = from; i <= to - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (buffer[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static final class PendingCommand {
+        private final String command;
+
+        private final CompletableFuture<CephAdminResult> result = new CompletableFuture<>();
+
+        private PendingCommand(String command) {
+            this.command = command;
+        }
+    }
+
+    /**
+     * Stdin of the session. Unlike a {@link java.io.PipedInputStream} it does
+     * not tie itself to the lifetime of the last writing thread, which here is
+     * whatever test thread submitted the last command.
+     */
+    private static final class StdinStream extends InputStream {
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+
+        private byte[] current = new byte[0];
+
+        private int position;
+
+        void write(byte[] bytes) {
+            chunks.add(bytes);
+        }
+
+        @Override
+        public void close() {
+            chunks.add(END);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (current == END) {
+                return -1;
+            }
+            if (position >= current.length) {
+                try {
+                    current = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for Ceph admin input", e);
+                }
+                position = 0;
+                if (current == END) {
+                    return -1;
+                }
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, target, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.testcontainers.containers;
+
+/**
+ * Output of a single command run through {@link CephAdmin}.
+ */
+public final class CephAdminResult {
+    private final String command;
+
+    private final int exitCode;
+
+    private final String stdout;
+
+    private final String stderr;
+
+    CephAdminResult(String command, int exitCode, String stdout, String stderr) {
+        this.command = command;
+        this.exitCode = exitCode;
+        this.stdout = stdout;
+        this.stderr = stderr;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public String getStdout() {
+        return stdout;
+    }
+
+    public String getStderr() {
+        return stderr;
+    }
+
+    public boolean isSuccess() {
+        return exitCode == 0;
+    }
+
+    /**
+     * @return this result
+     * @throws IllegalStateException if the command exited non-zero
+     */
+    public CephAdminResult checkSuccess() {
+        if (!isSuccess()) {
+            throw new IllegalStateException(
+                    "Ceph command '" + command + "' failed with exit code " + exitCode + ": " + stderr
+            );
+        }
+        return this;
+    }
+
+    /**
+     * Parses stdout as JSON: objects become maps, arrays lists, numbers
+     * {@link Long} or {@link Double}.
+     *
+     * @return the parsed value, or null if the command printed nothing
+     */
+    public Object getJson() {
+        String trimmed = stdout.trim();
+        return trimmed.isEmpty() ? null : CephJson.parse(trimmed);
+    }
+}
@@ -0,0 +1,169 @@
+package org.testcontainers.containers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An extra bucket created while the container starts, see
+ * {@link CephContainer#withBucket(CephBucket)}.
+ * <pre>{@code
+ * CephBucket.builder("tenant-a-data")
+ *         .owner("tenant-a")
+ *         .versioning(true)
+ *         .expireAfterDays(1)
+ *         .build();
+ * }</pre>
+ */
+public final class CephBucket {
+    private static final String S3_NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private final String name;
+
+    private final String owner;
+
+    private final boolean versioning;
+
+    private final String lifecycleConfiguration;
+
+    private final String policy;
+
+    private CephBucket(Builder builder) {
+        this.name = builder.name;
+        this.owner = builder.owner;
+        this.versioning = builder.versioning;
+        this.lifecycleConfiguration = builder.lifecycleConfiguration;
+        this.policy = builder.policy;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return uid of the owning user, or null for the container's demo user
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public boolean isVersioning() {
+        return versioning;
+    }
+
+    /**
+     * @return S3 {@code LifecycleConfiguration} XML, or null
+     */
+    public String getLifecycleConfiguration() {
+        return lifecycleConfiguration;
+    }
+
+    /**
+     * @return bucket policy JSON, or null
+     */
+    public String getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Creates the bucket and applies its settings with the owner's keys.
+     */
+    void provision(CephS3Endpoint endpoint) {
+        endpoint.createBucket(name);
+        if (versioning) {
+            put(endpoint, "versioning",
+                    "<VersioningConfiguration xmlns=\"" + S3_NAMESPACE + "\"><Status>Enabled</Status></VersioningConfiguration>");
+        }
+        if (lifecycleConfiguration != null) {
+            put(endpoint, "lifecycle", lifecycleConfiguration);
+        }
+        if (policy != null) {
+            put(endpoint, "policy", policy);
+        }
+    }
+
+    private void put(CephS3Endpoint endpoint, String subresource, String body) {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        Map<String, String> headers = Collections.singletonMap("Content-MD5", contentMd5(payload));
+        CephS3Endpoint.checkSuccess(
+                "set " + subresource + " of bucket " + name,
+                endpoint.send("PUT", name, subresource, headers, payload)
+        );
+    }
+
+    private static String contentMd5(byte[] payload) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(payload));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algorithm not found", e);
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+
+        private String owner;
+
+        private boolean versioning;
+
+        private String lifecycleConfiguration;
+
+        private String policy;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @param uid user owning the bucket; a {@link CephUser} of the same
+         *            container or the demo user
+         */
+        public Builder owner(String uid) {
+            this.owner = uid;
+            return this;
+        }
+
+        public Builder versioning(boolean enabled) {
+            this.versioning = enabled;
+            return this;
+        }
+
+        /**
+         * @param xml complete S3 {@code LifecycleConfiguration} document
+         */
+        public Builder lifecycleConfiguration(String xml) {
+            this.lifecycleConfiguration = xml;
+            return this;
+        }
+
+        /**
+         * Expires all objects of the bucket after the given number of days.
+         */
+        public Builder expireAfterDays(int days) {
+            return lifecycleConfiguration(
+                    "<LifecycleConfiguration xmlns=\"" + S3_NAMESPACE + "\"><Rule><ID>expire</ID>" +
+                            "<Filter><Prefix></Prefix></Filter><Status>Enabled</Status>" +
+                            "<Expiration><Days>" + days + "</Days></Expiration></Rule></LifecycleConfiguration>"
+            );
+        }
+
+        /**
+         * @param json bucket policy document
+         */
+        public Builder policy(String json) {
+            this.policy = json;
+            return this;
+        }
+
+        public CephBucket build() {
+            return new CephBucket(this);
+        }
+    }
+}
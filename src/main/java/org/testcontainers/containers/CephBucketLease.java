@@ -0,0 +1,84 @@
+package org.testcontainers.containers;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A bucket and RGW user leased from a {@link CephContainerPool}.
+ * <br>
+ * Exposes the same accessors as {@link CephContainer}, so code written
+ * against a dedicated container works unchanged against a lease. Closing the
+ * lease hands it back to the pool, which purges the user, its buckets and
+ * objects in the background.
+ */
+public class CephBucketLease implements AutoCloseable {
+    private final CephContainerPool pool;
+
+    private final CephContainer container;
+
+    private final String uid;
+
+    private final String cephAccessKey;
+
+    private final String cephSecretKey;
+
+    private final String cephBucket;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    CephBucketLease(
+            CephContainerPool pool,
+            CephContainer container,
+            String uid,
+            String cephAccessKey,
+            String cephSecretKey,
+            String cephBucket
+    ) {
+        this.pool = pool;
+        this.container = container;
+        this.uid = uid;
+        this.cephAccessKey = cephAccessKey;
+        this.cephSecretKey = cephSecretKey;
+        this.cephBucket = cephBucket;
+    }
+
+    public CephContainer getContainer() {
+        return container;
+    }
+
+    public int getCephPort() {
+        return container.getCephPort();
+    }
+
+    public URI getCephUrl() throws URISyntaxException {
+        return container.getCephUrl();
+    }
+
+    public String getCephAccessKey() {
+        return cephAccessKey;
+    }
+
+    public String getCephSecretKey() {
+        return cephSecretKey;
+    }
+
+    public String getCephBucket() {
+        return cephBucket;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * Returns the lease to the pool. The purge runs asynchronously, so this
+     * never blocks on server-side cleanup. Calling it more than once is a no-op.
+     */
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(this);
+        }
+    }
+}
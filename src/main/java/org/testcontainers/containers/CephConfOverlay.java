@@ -0,0 +1,152 @@
+package org.testcontainers.containers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The Ceph options a {@link CephContainer} layers on top of the demo image's
+ * generated {@code ceph.conf}, and how they reach the daemons.
+ * <br>
+ * RGW options are appended to the RGW section right after its
+ * {@code rgw frontends} line by patching the demo script once, before it
+ * runs. Everything else is passed through {@code CEPH_ARGS}, which every Ceph
+ * process parses on startup: the MON and OSD part of the config is written
+ * before any anchor the demo script offers, and options such as the BlueStore
+ * block size must already apply to the OSD's {@code --mkfs}.
+ */
+final class CephConfOverlay {
+    static final String DEMO_SCRIPT = "/opt/ceph-container/bin/demo";
+
+    private static final String PATCHED_MARKER = "/opt/ceph-container/.testcontainers-ceph-conf";
+
+    private static final String RGW_OPTION_PREFIX = "rgw_";
+
+    private static final String RGW_FRONTENDS = "rgw_frontends";
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+
+    void put(String name, String value) {
+        String option = name.trim().replace(' ', '_');
+        if (option.isEmpty()) {
+            throw new IllegalArgumentException("Ceph option name must not be empty");
+        }
+        if (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Ceph option " + option + " must not span multiple lines");
+        }
+        if (!option.startsWith(RGW_OPTION_PREFIX) && value.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException(
+                    "Ceph option " + option + " is passed via CEPH_ARGS and must not contain whitespace"
+            );
+        }
+        // Re-insert so the latest setting also determines the rendering order
+        options.remove(option);
+        options.put(option, value);
+    }
+
+    void putAll(Map<String, String> options) {
+        options.forEach(this::put);
+    }
+
+    Map<String, String> getOptions() {
+        return Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * @return the {@code CEPH_ARGS} value for all non-RGW options, empty if there are none
+     */
+    String getCephArgs() {
+        return options.entrySet().stream()
+                .filter(option -> !option.getKey().startsWith(RGW_OPTION_PREFIX))
+                .map(option -> "--" + option.getKey() + "=" + option.getValue())
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * @return a {@code bash -c} script that patches the RGW options into the
+     * demo script and runs it, or null when there are no RGW options
+     */
+    String getEntrypointScript() {
+        Map<String, String> rgwOptions = options.entrySet().stream()
+                .filter(option -> option.getKey().startsWith(RGW_OPTION_PREFIX))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, LinkedHashMap::new));
+        if (rgwOptions.isEmpty()) {
+            return null;
+        }
+        StringBuilder sed = new StringBuilder("sed -i");
+        String appended = rgwOptions.entrySet().stream()
+                .filter(option -> !RGW_FRONTENDS.equals(option.getKey()))
+                .map(option -> escapeSedText(confLine(option.getKey(), option.getValue())))
+                .collect(Collectors.joining("\\\n"));
+        if (!appended.isEmpty()) {
+            sed.append(" -e '/^rgw frontends = .*/a ").append(appended).append('\'');
+        }
+        String frontends = rgwOptions.get(RGW_FRONTENDS);
+        if (frontends != null) {
+            sed.append(" -e 's|^rgw frontends = .*|")
+                    .append(escapeSedReplacement(confLine(RGW_FRONTENDS, frontends)))
+                    .append("|'");
+        }
+        // The marker keeps a warm-start snapshot, which already carries the
+        // patched script, from being patched twice.
+        return "if [ ! -e " + PATCHED_MARKER + " ]; then\n" +
+                sed + " " + DEMO_SCRIPT + " && touch " + PATCHED_MARKER + ";\n" +
+                "fi;\n" +
+                DEMO_SCRIPT + ";";
+    }
+
+    /**
+     * Renders the RGW options as {@code radosgw} command line arguments, for
+     * an RGW that does not read the demo script's RGW section.
+     *
+     * @param defaultPort port of the demo RGW, as used in its frontends option
+     * @param port        port the RGW should listen on instead
+     * @return the arguments, each preceded by a space and shell quoted
+     */
+    String getRgwArgs(int defaultPort, int port) {
+        String frontends = options.get(RGW_FRONTENDS);
+        StringBuilder args = new StringBuilder(" --").append(RGW_FRONTENDS).append('=').append(CephContainer.shellQuote(
+                frontends == null ? "beast port=" + port : frontends.replace("port=" + defaultPort, "port=" + port)
+        ));
+        options.forEach((option, value) -> {
+            if (option.startsWith(RGW_OPTION_PREFIX) && !RGW_FRONTENDS.equals(option)) {
+                args.append(" --").append(option).append('=').append(CephContainer.shellQuote(value));
+            }
+        });
+        return args.toString();
+    }
+
+    /**
+     * @return all options in {@code ceph.conf} syntax, one per line
+     */
+    String render() {
+        return options.entrySet().stream()
+                .map(option -> confLine(option.getKey(), option.getValue()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * @return all options in {@code ceph.conf} syntax, sorted by name, so
+     * the same settings give the same text whatever order they were made in.
+     * Only for hashing; the daemons get the options in the order they were set.
+     */
+    String renderSorted() {
+        return new TreeMap<>(options).entrySet().stream()
+                .map(option -> confLine(option.getKey(), option.getValue()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String confLine(String name, String value) {
+        return name.replace('_', ' ') + " = " + value;
+    }
+
+    private static String escapeSedText(String text) {
+        return text.replace("\\", "\\\\").replace("'", "'\\''");
+    }
+
+    private static String escapeSedReplacement(String text) {
+        return escapeSedText(text).replace("|", "\\|").replace("&", "\\&");
+    }
+}
@@ -1,12 +1,33 @@
 package org.testcontainers.containers;
 
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.model.Ulimit;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
@@ -19,7 +40,7 @@ import static java.util.Objects.requireNonNull;
  * <br>
  * Exposed ports:
  * <ul>
- *     <li>Ceph: 8080</li>
+ *     <li>Ceph: 8080, plus 8081 and up for additional RGW instances</li>
  *     <li>Monitor: 3300</li>
  * </ul>
  */
@@ -40,12 +61,26 @@ public class CephContainer extends GenericContainer<CephContainer> {
 
     private static final String CEPH_DEMO_BUCKET = "demo";
 
+    private static final String CEPH_DEMO_DISPLAY_NAME = "Ceph demo user";
+
     private static final String CEPH_RGW_DEFAULT_NAME = "localhost";
 
     private static final String CEPH_END_START_REGEX_FORMAT = ".*Bucket 's3://%s/' created\n.*";
 
     private static final Ulimit[] DEFAULT_ULIMITS = new Ulimit[]{new Ulimit("nofile", 65536L, 65536L)};
 
+    private static final String SNAPSHOT_IMAGE_REPOSITORY = "testcontainers-ceph-snapshot";
+
+    private static final String CEPH_DATA_PATH = "/var/lib/ceph";
+
+    private static final long RAM_STORAGE_MIN_MEGABYTES = 512;
+
+    private static final int BUCKET_PROVISIONING_PARALLELISM = 8;
+
+    static final String CONFIGURATION_HASH_LABEL = "io.github.jarlah.testcontainers-ceph.configuration-hash";
+
+    private final DockerImageName cephImageName;
+
     private String cephAccessKey;
 
     private String cephSecretKey;
@@ -54,6 +89,50 @@ public class CephContainer extends GenericContainer<CephContainer> {
 
     private String rgwName;
 
+    private long ramStorageMegabytes;
+
+    private boolean s3Only;
+
+    private final CephConfOverlay cephConfOverlay = new CephConfOverlay();
+
+    private boolean warmStart;
+
+    private boolean startedFromSnapshot;
+
+    private boolean reused;
+
+    private Duration readinessWaitDuration;
+
+    private boolean startupProfileLogging;
+
+    private volatile CephStartupProfiler startupProfiler;
+
+    private CephStartupProfile startupProfile;
+
+    private volatile CephSeedResult seedResult;
+
+    private CephAdmin cephAdmin;
+
+    private Duration adminCommandTimeout = CephAdmin.DEFAULT_COMMAND_TIMEOUT;
+
+    private volatile CompletableFuture<CephContainer> startFuture;
+
+    private volatile Thread asyncStarter;
+
+    private CephSeedData seedData;
+
+    private final Map<String, CephUser> users = new LinkedHashMap<>();
+
+    private final Map<String, CephBucket> buckets = new LinkedHashMap<>();
+
+    private boolean crtS3AsyncClient;
+
+    private CephS3Clients s3Clients;
+
+    private int rgwInstances = 1;
+
+    private final AtomicInteger nextRgwInstance = new AtomicInteger();
+
     public CephContainer() {
         this(DEFAULT_IMAGE_NAME.withTag(DEFAULT_IMAGE_TAG));
     }
@@ -71,20 +150,31 @@ public class CephContainer extends GenericContainer<CephContainer> {
     public CephContainer(final DockerImageName dockerImageName) {
         super(dockerImageName);
         dockerImageName.assertCompatibleWith(DEFAULT_IMAGE_NAME);
+        this.cephImageName = dockerImageName;
         withCreateContainerCmdModifier(createContainerCmd ->
                 requireNonNull(createContainerCmd
                         .getHostConfig())
                         .withUlimits(DEFAULT_ULIMITS));
+        withCreateContainerCmdModifier(createContainerCmd -> {
+            String entrypointScript = this.cephConfOverlay.getEntrypointScript();
+            if (entrypointScript != null) {
+                createContainerCmd.withEntrypoint("bash", "-c", entrypointScript);
+            }
+        });
     }
 
     /**
      * Overrides the default configure() from GenericContainer to set the
-     * environment variables Ceph needs and to install a log-based wait
-     * strategy when none has been set explicitly.
+     * environment variables Ceph needs and to install an S3-based wait
+     * strategy when none has been set explicitly. With a custom RGW name the
+     * host cannot reach S3, so the demo script's log line is awaited instead.
      */
     @Override
     public void configure() {
         addExposedPorts(CEPH_MON_DEFAULT_PORT, CEPH_RGW_DEFAULT_PORT);
+        for (int instance = 1; instance < this.rgwInstances; instance++) {
+            addExposedPort(CEPH_RGW_DEFAULT_PORT + instance);
+        }
 
         addEnv("CEPH_DEMO_UID", CEPH_DEMO_UID);
         addEnv(
@@ -118,22 +208,193 @@ public class CephContainer extends GenericContainer<CephContainer> {
                         ? this.rgwName
                         : (this.rgwName = CEPH_RGW_DEFAULT_NAME)
         );
+        if (this.s3Only) {
+            // MON and MGR are always bootstrapped by the demo script
+            addEnv("DEMO_DAEMONS", "osd,rgw");
+            addEnv("OSD_COUNT", "1");
+            addEnv("MGR_DASHBOARD", "0");
+        }
+        String cephArgs = this.cephConfOverlay.getCephArgs();
+        if (!cephArgs.isEmpty()) {
+            addEnv("CEPH_ARGS", cephArgs);
+        }
+        if (this.warmStart) {
+            if (this.ramStorageMegabytes > 0) {
+                throw new IllegalStateException(
+                        "Warm start cannot be combined with RAM storage: tmpfs content is not part of the snapshot"
+                );
+            }
+            String snapshotImageName = getSnapshotImageName();
+            this.startedFromSnapshot = snapshotImageExists(snapshotImageName);
+            if (this.startedFromSnapshot) {
+                setDockerImageName(snapshotImageName);
+            }
+        }
+        for (CephBucket bucket : this.buckets.values()) {
+            String owner = bucket.getOwner();
+            if (owner != null && !owner.equals(CEPH_DEMO_UID) && !this.users.containsKey(owner)) {
+                throw new IllegalStateException(
+                        "Owner '" + owner + "' of bucket '" + bucket.getName() + "' is not a user of this container"
+                );
+            }
+        }
+        if (this.seedData != null && !this.startedFromSnapshot) {
+            // Copied as a single tar together with the container creation
+            withCopyFileToContainer(this.seedData.getSource(), CephSeedData.CONTAINER_PATH);
+        }
+        if (isShouldBeReused()) {
+            // Testcontainers hashes the labels when looking for a container to
+            // reuse, so this also covers what is declared but only applied
+            // after startup, such as users and buckets.
+            withLabel(CONFIGURATION_HASH_LABEL, getConfigurationHash());
+        }
         if (this.waitStrategy == DEFAULT_WAIT_STRATEGY) {
-            setWaitStrategy(Wait.forLogMessage(String.format(CEPH_END_START_REGEX_FORMAT, this.cephBucket), 1)
-                    .withStartupTimeout(Duration.ofMinutes(5)));
+            Duration startupTimeout = this.startedFromSnapshot ? Duration.ofMinutes(1) : Duration.ofMinutes(5);
+            if (CEPH_RGW_DEFAULT_NAME.equals(this.rgwName)) {
+                setWaitStrategy(new CephS3WaitStrategy(CEPH_RGW_DEFAULT_PORT, this.cephAccessKey, this.cephSecretKey, this.cephBucket)
+                        .withStartupTimeout(startupTimeout));
+            } else {
+                // With another RGW name the mapped port does not serve S3 to
+                // the host, so the probe could never succeed
+                setWaitStrategy(Wait.forLogMessage(String.format(CEPH_END_START_REGEX_FORMAT, this.cephBucket), 1)
+                        .withStartupTimeout(startupTimeout));
+            }
+        }
+        if (this.startupProfiler != null) {
+            // Testcontainers resolves the image, pulling it when needed, right
+            // after configure() and offers no hook between that and the
+            // container creation. Resolving it here ends the image pull phase
+            // at the same point without observing getDockerImageName().
+            getDockerImageName();
+            markStartupPhase(CephStartupPhase.CONTAINER_CREATE);
+        }
+    }
+
+    @Override
+    protected void doStart() {
+        this.startupProfiler = new CephStartupProfiler();
+        super.doStart();
+    }
+
+    @Override
+    protected void containerIsCreated(String containerId) {
+        super.containerIsCreated(containerId);
+        markStartupPhase(CephStartupPhase.CONTAINER_START);
+    }
+
+    @Override
+    protected void containerIsStarting(InspectContainerResponse containerInfo, boolean reused) {
+        super.containerIsStarting(containerInfo, reused);
+        CephStartupProfiler profiler = this.startupProfiler;
+        if (profiler != null) {
+            profiler.mark(CephStartupPhase.MON);
+            followOutput(profiler);
+        }
+    }
+
+    /**
+     * Records how long the wait strategy took, whichever one is installed.
+     */
+    @Override
+    protected void waitUntilContainerStarted() {
+        long started = System.nanoTime();
+        super.waitUntilContainerStarted();
+        this.readinessWaitDuration = Duration.ofNanos(System.nanoTime() - started);
+    }
+
+    /**
+     * Starts the additional RGW daemons, creates the declared users and
+     * buckets and loads the seed data, then commits the bootstrapped container to the snapshot image the first time
+     * a warm-start configuration comes up, so later starts can skip all of it.
+     */
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo, boolean reused) {
+        super.containerIsStarted(containerInfo, reused);
+        this.reused = reused;
+        if (reused) {
+            markStartupPhase(CephStartupPhase.REUSE);
+            prepareReusedContainer();
+        }
+        if (this.rgwInstances > 1 && !reused) {
+            // Processes are not part of a snapshot, so this also runs on warm starts
+            markStartupPhase(CephStartupPhase.RGW_INSTANCES);
+            startAdditionalRgwInstances();
+        }
+        if ((!this.users.isEmpty() || !this.buckets.isEmpty()) && !this.startedFromSnapshot && !reused) {
+            markStartupPhase(CephStartupPhase.PROVISIONING);
+            provisionUsersAndBuckets();
+        }
+        if (this.seedData != null && !this.startedFromSnapshot && !reused) {
+            markStartupPhase(CephStartupPhase.SEED_DATA);
+            ingestSeedData();
+        }
+        finishStartupProfile();
+        if (this.warmStart && !this.startedFromSnapshot && !reused) {
+            // Override the session label inherited from the container, otherwise
+            // Ryuk would remove the snapshot image together with this session.
+            this.dockerClient.commitCmd(getContainerId())
+                    .withRepository(SNAPSHOT_IMAGE_REPOSITORY)
+                    .withTag(getConfigurationHash())
+                    .withLabels(Collections.singletonMap(
+                            DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL,
+                            SNAPSHOT_IMAGE_REPOSITORY
+                    ))
+                    .exec();
+        }
+    }
+
+    @Override
+    protected void containerIsStopping(InspectContainerResponse containerInfo) {
+        closeCephAdmin();
+        closeS3Clients();
+        this.startFuture = null;
+        super.containerIsStopping(containerInfo);
+    }
+
+    private void markStartupPhase(CephStartupPhase phase) {
+        CephStartupProfiler profiler = this.startupProfiler;
+        if (profiler != null) {
+            profiler.mark(phase);
+        }
+    }
+
+    private void finishStartupProfile() {
+        CephStartupProfiler profiler = this.startupProfiler;
+        if (profiler == null) {
+            return;
+        }
+        this.startupProfiler = null;
+        this.startupProfile = profiler.finish();
+        if (this.startupProfileLogging) {
+            for (CephStartupProfile.PhaseTiming timing : this.startupProfile.getPhases()) {
+                logger().info(
+                        "Ceph startup phase={} offsetMs={} durationMs={}",
+                        timing.getPhase(),
+                        timing.getOffset().toMillis(),
+                        timing.getDuration().toMillis()
+                );
+            }
+            logger().info("Ceph startup phase=TOTAL durationMs={}", this.startupProfile.getTotalDuration().toMillis());
         }
     }
 
     public CephContainer withSslDisabled() {
-        return super.withCreateContainerCmdModifier(cmd ->
-                cmd.withEntrypoint(
-                        "bash",
-                        "-c",
-                        "sed -i '/^rgw frontends = .*/a rgw verify ssl = false\\\n" +
-                                "rgw crypt require ssl = false' /opt/ceph-container/bin/demo;\n" +
-                                "/opt/ceph-container/bin/demo;"
-                )
-        );
+        this.cephConfOverlay.put("rgw_verify_ssl", "false");
+        this.cephConfOverlay.put("rgw_crypt_require_ssl", "false");
+        return this;
+    }
+
+    /**
+     * Apply Ceph performance settings. Can be called several times; the
+     * options of all tunings are combined, and a later value for the same
+     * option wins.
+     *
+     * @param tuning the settings to apply
+     * @return this container for chaining
+     */
+    public CephContainer withTuning(CephTuning tuning) {
+        this.cephConfOverlay.putAll(tuning.getOptions());
+        return this;
     }
 
     public CephContainer withCephAccessKey(String cephAccessKey) {
@@ -171,7 +432,339 @@ public class CephContainer extends GenericContainer<CephContainer> {
         return this;
     }
 
+    /**
+     * Run only what is needed to serve S3.
+     * <br>
+     * By default the demo image also starts MDS, NFS, rbd-mirror and the MGR
+     * dashboard. This profile limits the demo bootstrap to a single OSD and the
+     * RGW (plus the MON and a bare MGR, which the demo script always starts)
+     * and lowers the OSD memory target to its minimum, cutting startup time and
+     * memory per container.
+     *
+     * @return this container for chaining
+     */
+    public CephContainer withS3OnlyProfile() {
+        this.s3Only = true;
+        this.cephConfOverlay.put("osd_memory_target", String.valueOf(896L * 1024 * 1024));
+        return this;
+    }
+
+    /**
+     * Keep the Ceph data directory in RAM instead of the container's overlay
+     * filesystem.
+     * <br>
+     * Mounts {@code /var/lib/ceph}, where the demo script keeps MON, OSD and
+     * RGW data, as a tmpfs capped at the given size, and sizes the OSD's
+     * BlueStore block file to fit into three quarters of it. The mon's
+     * free-space checks are disabled, as the block file is expected to fill
+     * the tmpfs. The MON store and object I/O no longer touch the host disk;
+     * the data is gone when the container stops.
+     * <br>
+     * Nothing else is moved: the daemon logs in {@code /var/log/ceph}, the
+     * admin sockets in {@code /var/run/ceph} and the configuration and keyrings
+     * the bootstrap writes to {@code /etc/ceph} stay on the overlay
+     * filesystem.
+     *
+     * @param sizeInMegabytes size cap of the tmpfs, at least 512
+     * @return this container for chaining
+     */
+    public CephContainer withRamStorage(long sizeInMegabytes) {
+        if (sizeInMegabytes < RAM_STORAGE_MIN_MEGABYTES) {
+            throw new IllegalArgumentException(
+                    "RAM storage needs at least " + RAM_STORAGE_MIN_MEGABYTES + "MB, was " + sizeInMegabytes + "MB"
+            );
+        }
+        this.ramStorageMegabytes = sizeInMegabytes;
+        this.cephConfOverlay.put("bluestore_block_size", String.valueOf(sizeInMegabytes * 3 / 4 * 1024 * 1024));
+        this.cephConfOverlay.put("mon_data_avail_warn", "0");
+        this.cephConfOverlay.put("mon_data_avail_crit", "0");
+        return withTmpFs(Collections.singletonMap(CEPH_DATA_PATH, "rw,size=" + sizeInMegabytes + "m"));
+    }
+
+    /**
+     * Run several RGW daemons against the same cluster to spread S3 load over
+     * more than one gateway process.
+     * <br>
+     * The demo image's RGW keeps serving port 8080. Every additional instance
+     * gets its own cephx identity and listens on the next port, 8081 and up,
+     * with the same RGW options as the first one. They are started once the
+     * first RGW is ready and probed with an S3 request before the container
+     * is reported started. All instances share users, buckets and objects.
+     *
+     * @param count total number of RGW daemons, at least 1
+     * @return this container for chaining
+     * @see #getCephUrls()
+     * @see #nextCephUrl()
+     */
+    public CephContainer withRgwInstances(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one RGW instance is needed, was " + count);
+        }
+        this.rgwInstances = count;
+        return this;
+    }
+
+    /**
+     * Enable snapshot-based warm start.
+     * <br>
+     * The first time a configuration (image, credentials, bucket, RGW name and
+     * SSL flag) is started, the fully bootstrapped container is committed to a
+     * local image tagged {@code testcontainers-ceph-snapshot:<config hash>}.
+     * Later starts with the same configuration boot from that image, where the
+     * demo entrypoint finds the existing MON, OSD and RGW state and only starts
+     * the daemons.
+     * <br>
+     * Snapshot images are kept across JVM runs; remove them with
+     * {@code docker rmi} when they are no longer wanted.
+     *
+     * @return this container for chaining
+     */
+    public CephContainer withWarmStart() {
+        this.warmStart = true;
+        return this;
+    }
+
+    /**
+     * @return true if the last start attached to a running container from an
+     * earlier run instead of creating one, see {@link #withReuse(boolean)}
+     */
+    public boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * @return true if the container was started from a warm-start snapshot
+     * image instead of running the full demo bootstrap
+     */
+    public boolean isStartedFromSnapshot() {
+        return startedFromSnapshot;
+    }
+
+    /**
+     * Log one {@code key=value} formatted INFO event per startup phase, plus
+     * the total, through the container's SLF4J logger once it is ready.
+     *
+     * @return this container for chaining
+     */
+    public CephContainer withStartupProfileLogging() {
+        this.startupProfileLogging = true;
+        return this;
+    }
+
+    /**
+     * Create an extra RGW user while the container starts. All users are
+     * created in one batched admin call before the container is reported
+     * ready. A later user with the same uid replaces an earlier one.
+     *
+     * @param user the user to create
+     * @return this container for chaining
+     */
+    public CephContainer withUser(CephUser user) {
+        this.users.put(user.getUid(), user);
+        return this;
+    }
+
+    /**
+     * Create an extra bucket while the container starts, after the users.
+     * Its owner must be the demo user or a user added with
+     * {@link #withUser(CephUser)}. Buckets are created concurrently, each
+     * with its own S3 requests for the settings.
+     *
+     * @param bucket the bucket to create
+     * @return this container for chaining
+     */
+    public CephContainer withBucket(CephBucket bucket) {
+        this.buckets.put(bucket.getName(), bucket);
+        return this;
+    }
+
+    /**
+     * Load a directory tree from the host into the configured bucket before
+     * the container is reported ready. Object keys are the paths relative to
+     * {@code hostDirectory}.
+     * <br>
+     * The tree is copied into the container as one tar archive and uploaded
+     * from inside the container over loopback with several concurrent
+     * uploaders. With {@link #withWarmStart()} the seeded state is part of
+     * the snapshot, and a changed tree produces a new snapshot. {@link #reset()}
+     * loads the seed data again.
+     *
+     * @param hostDirectory directory to load
+     * @return this container for chaining
+     */
+    public CephContainer withSeedData(Path hostDirectory) {
+        this.seedData = new CephSeedData(MountableFile.forHostPath(hostDirectory), false);
+        return this;
+    }
+
+    /**
+     * Like {@link #withSeedData(Path)}, for a directory on the classpath.
+     * Changes to the tree are detected from the file contents, because the
+     * build gives copied resources fresh modification times.
+     *
+     * @param resourcePath classpath directory to load, e.g. {@code "fixtures/s3"}
+     * @return this container for chaining
+     */
+    public CephContainer withClasspathSeedData(String resourcePath) {
+        this.seedData = new CephSeedData(MountableFile.forClasspathResource(resourcePath), true);
+        return this;
+    }
+
+    /**
+     * Start the container on a background thread and return immediately, so
+     * Ceph can bootstrap while the caller sets up other fixtures.
+     * <br>
+     * The future completes with this container once the wait strategy
+     * succeeds, or exceptionally if the start fails. Calling it again returns
+     * the same future. Getters that need the running container, such as
+     * {@link #getCephUrl()}, wait for the start to finish and throw an
+     * {@link IllegalStateException} if it failed.
+     *
+     * @return a future completing when the container is ready
+     */
+    public synchronized CompletableFuture<CephContainer> startAsync() {
+        if (this.startFuture == null) {
+            CompletableFuture<CephContainer> future = new CompletableFuture<>();
+            Thread starter = new Thread(() -> {
+                try {
+                    start();
+                    future.complete(this);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }, "ceph-container-start");
+            starter.setDaemon(true);
+            this.startFuture = future;
+            this.asyncStarter = starter;
+            starter.start();
+        }
+        return this.startFuture;
+    }
+
+    /**
+     * Bring the cluster back to its freshly bootstrapped state without
+     * restarting the container.
+     * <br>
+     * Removes every bucket with all its objects server-side, re-creates the
+     * demo user with the configured keys and re-creates the configured bucket,
+     * loading the seed data into it again if there is any. Buckets added with
+     * {@link #withBucket(CephBucket)} are re-created with their settings.
+     * Users other than the demo user, such as those of
+     * {@link CephContainerPool} leases, are left alone.
+     *
+     * @return how long the reset took and how much it removed
+     */
+    public CephPurgeResult reset() {
+        long started = System.nanoTime();
+        String stats = execScript(
+                "set -e\n" +
+                        "radosgw-admin bucket stats\n" +
+                        "for bucket in $(radosgw-admin bucket list | tr -d '[]\",'); do\n" +
+                        "  radosgw-admin bucket rm --bucket=\"$bucket\" --purge-objects --bypass-gc > /dev/null\n" +
+                        "done\n" +
+                        "radosgw-admin user rm --uid=" + CEPH_DEMO_UID + " --purge-data > /dev/null\n" +
+                        "radosgw-admin user create --uid=" + CEPH_DEMO_UID +
+                        " --display-name=" + shellQuote(CEPH_DEMO_DISPLAY_NAME) +
+                        " --access-key=" + shellQuote(this.cephAccessKey) +
+                        " --secret=" + shellQuote(this.cephSecretKey) + " > /dev/null\n"
+        );
+        List<?> buckets = (List<?>) CephJson.parse(stats);
+        long objectsRemoved = buckets.stream()
+                .mapToLong(bucket -> CephJson.pathAsLong(bucket, "usage", "rgw.main", "num_objects"))
+                .sum();
+        s3Endpoint(this.cephAccessKey, this.cephSecretKey).createBucket(this.cephBucket);
+        if (!this.buckets.isEmpty()) {
+            provisionUsersAndBuckets();
+        }
+        if (this.seedData != null) {
+            ingestSeedData();
+        }
+        return new CephPurgeResult(Duration.ofNanos(System.nanoTime() - started), objectsRemoved, buckets.size());
+    }
+
+    /**
+     * Remove all objects of a bucket server-side, which is far faster than
+     * deleting them over S3. The bucket is removed and re-created for the same
+     * owner, so its objects and versions are gone. A bucket added with
+     * {@link #withBucket(CephBucket)} gets its declared settings back, exactly
+     * as on start; any other bucket loses its bucket-level settings.
+     *
+     * @param bucket the bucket to empty
+     * @return how long the purge took and how many objects it removed
+     */
+    public CephPurgeResult purge(String bucket) {
+        long started = System.nanoTime();
+        CephAdmin admin = getCephAdmin();
+        Object stats = admin.radosgwAdmin("bucket", "stats", "--bucket=" + bucket);
+        long objectsRemoved = CephJson.pathAsLong(stats, "usage", "rgw.main", "num_objects");
+        CephBucket declared = this.buckets.get(bucket);
+        // Looked up before the bucket is removed, so a missing key cannot lose it
+        CephS3Endpoint ownerEndpoint = declared == null ? ownerEndpoint(admin, bucket, stats) : null;
+        admin.radosgwAdmin("bucket", "rm", "--bucket=" + bucket, "--purge-objects", "--bypass-gc");
+        if (declared != null) {
+            provisionBucket(declared);
+        } else {
+            ownerEndpoint.createBucket(bucket);
+        }
+        return new CephPurgeResult(Duration.ofNanos(System.nanoTime() - started), objectsRemoved, 1);
+    }
+
+    /**
+     * @return an endpoint signed with the first S3 key of the bucket's owner
+     * @throws IllegalStateException if the owner has no S3 key
+     */
+    private CephS3Endpoint ownerEndpoint(CephAdmin admin, String bucket, Object stats) {
+        String owner = (String) CephJson.path(stats, "owner");
+        List<?> keys = (List<?>) CephJson.path(admin.radosgwAdmin("user", "info", "--uid=" + owner), "keys");
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalStateException(
+                    "Cannot purge bucket '" + bucket + "': its owner '" + owner + "' has no S3 keys to re-create it with"
+            );
+        }
+        Map<?, ?> key = (Map<?, ?>) keys.get(0);
+        return s3Endpoint((String) key.get("access_key"), (String) key.get("secret_key"));
+    }
+
+    /**
+     * Capture the perf counters of the RGW and OSD daemons from their admin
+     * sockets. Take one snapshot before and one after the code under test and
+     * compare them with {@link CephPerfSnapshot#since(CephPerfSnapshot)}.
+     *
+     * @return the current counters
+     */
+    public CephPerfSnapshot getPerfSnapshot() {
+        Map<?, ?> perfDumps = (Map<?, ?>) CephJson.parse(execScript(CephPerfSnapshot.CAPTURE_SCRIPT));
+        return CephPerfSnapshot.of(Instant.now(), perfDumps);
+    }
+
+    /**
+     * @return the phase timings of the last successful start, or null if the
+     * container has not been started
+     */
+    public CephStartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
+    /**
+     * @return what the last load of the seed data took and loaded, during
+     * start() or {@link #reset()}, or null if this container has not loaded
+     * any, e.g. because it started from a warm-start snapshot that already
+     * holds the objects
+     */
+    public CephSeedResult getSeedResult() {
+        return seedResult;
+    }
+
+    /**
+     * @return how long the last start waited for the wait strategy to report
+     * the container ready, or null if it has not been started
+     */
+    public Duration getReadinessWaitDuration() {
+        return readinessWaitDuration;
+    }
+
     public int getCephPort() {
+        awaitAsyncStart();
         return getMappedPort(CEPH_RGW_DEFAULT_PORT);
     }
 
@@ -179,6 +772,40 @@ public class CephContainer extends GenericContainer<CephContainer> {
         return new URI(String.format("http://%s:%s", this.getHost(), getCephPort()));
     }
 
+    /**
+     * @return the S3 endpoints of all RGW instances, starting with
+     * {@link #getCephUrl()}
+     * @see #withRgwInstances(int)
+     */
+    public List<URI> getCephUrls() throws URISyntaxException {
+        awaitAsyncStart();
+        List<URI> urls = new ArrayList<>(this.rgwInstances);
+        for (int instance = 0; instance < this.rgwInstances; instance++) {
+            urls.add(new URI(String.format(
+                    "http://%s:%s", this.getHost(), getMappedPort(CEPH_RGW_DEFAULT_PORT + instance)
+            )));
+        }
+        return urls;
+    }
+
+    /**
+     * Hands out the RGW endpoints in turn, so callers that pick an endpoint
+     * per client or per request spread their load evenly over all instances.
+     *
+     * @return the next of {@link #getCephUrls()}, round-robin
+     */
+    public URI nextCephUrl() throws URISyntaxException {
+        List<URI> urls = getCephUrls();
+        return urls.get(Math.floorMod(this.nextRgwInstance.getAndIncrement(), urls.size()));
+    }
+
+    /**
+     * @return the number of RGW daemons the container runs
+     */
+    public int getRgwInstances() {
+        return rgwInstances;
+    }
+
     public String getCephAccessKey() {
         return cephAccessKey;
     }
@@ -194,4 +821,328 @@ public class CephContainer extends GenericContainer<CephContainer> {
     public String getRgwName() {
         return rgwName;
     }
+
+    String getSnapshotImageName() {
+        return SNAPSHOT_IMAGE_REPOSITORY + ":" + getConfigurationHash();
+    }
+
+    /**
+     * Stable hash of everything that shapes the bootstrapped state of the
+     * container. Only meaningful after {@link #configure()} resolved defaults.
+     */
+    String getConfigurationHash() {
+        String configuration = String.join(
+                "\n",
+                this.cephImageName.asCanonicalNameString(),
+                this.cephAccessKey,
+                this.cephSecretKey,
+                this.cephBucket,
+                this.rgwName,
+                String.valueOf(this.s3Only),
+                this.cephConfOverlay.renderSorted()
+        );
+        if (this.rgwInstances > 1) {
+            configuration += "\nrgwInstances=" + this.rgwInstances;
+        }
+        if (this.seedData != null) {
+            configuration += "\nseed=" + this.seedData.fingerprint();
+        }
+        // Sorted, so the order of the declarations does not matter
+        for (CephUser user : new TreeMap<>(this.users).values()) {
+            configuration += "\nuser=" + user.provisioningScript();
+        }
+        for (CephBucket bucket : new TreeMap<>(this.buckets).values()) {
+            configuration += String.join(
+                    "\n",
+                    "\nbucket=" + bucket.getName(),
+                    String.valueOf(bucket.getOwner()),
+                    String.valueOf(bucket.isVersioning()),
+                    String.valueOf(bucket.getLifecycleConfiguration()),
+                    String.valueOf(bucket.getPolicy())
+            );
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(configuration.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hash.append(String.format("%02x", digest[i]));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    /**
+     * @return the Ceph options layered on top of the demo configuration, in
+     * {@code ceph.conf} syntax
+     */
+    public String getCephConfOverlay() {
+        return this.cephConfOverlay.render();
+    }
+
+    /**
+     * Build the client of {@link CephS3Clients#getS3AsyncClient()} on the AWS CRT, which
+     * splits large uploads and downloads into parallel part requests by
+     * itself. Needs {@code software.amazon.awssdk.crt:aws-crt} on the classpath.
+     *
+     * @return this container for chaining
+     */
+    public CephContainer withCrtS3AsyncClient() {
+        this.crtS3AsyncClient = true;
+        return this;
+    }
+
+    /**
+     * Limit how long a single command of the admin session may take,
+     * including the time it waits behind earlier commands. A command that
+     * takes longer fails, and the session is killed and reopened on next use,
+     * so one hung {@code radosgw-admin} or {@code ceph} call cannot block
+     * {@link #reset()}, {@link #purge(String)} and the other admin-based
+     * operations forever. Defaults to 5 minutes.
+     *
+     * @param timeout the per-command timeout
+     * @return this container for chaining
+     */
+    public CephContainer withAdminCommandTimeout(Duration timeout) {
+        this.adminCommandTimeout = requireNonNull(timeout, "timeout");
+        return this;
+    }
+
+    /**
+     * Admin command channel of the running container, opened on first use and
+     * kept open until the container stops.
+     *
+     * @return the shared admin session
+     */
+    public CephAdmin getCephAdmin() {
+        awaitAsyncStart();
+        if (getContainerId() == null) {
+            throw new IllegalStateException("CephContainer is not started");
+        }
+        synchronized (this) {
+            if (this.cephAdmin == null || !this.cephAdmin.isOpen()) {
+                this.cephAdmin = CephAdmin.open(this.dockerClient, getContainerId(), this.adminCommandTimeout);
+            }
+            return this.cephAdmin;
+        }
+    }
+
+    /**
+     * Runs a bash script through the admin session and returns its stdout.
+     *
+     * @throws IllegalStateException if the script exits non-zero
+     */
+    String execScript(String script) {
+        return getCephAdmin().exec(script).checkSuccess().getStdout();
+    }
+
+    /**
+     * Waits for a start begun by {@link #startAsync()}; no-op otherwise and
+     * on the thread doing that start.
+     */
+    private void awaitAsyncStart() {
+        CompletableFuture<CephContainer> future = this.startFuture;
+        // Lifecycle hooks run on the starter thread and must not wait for themselves
+        if (future == null || Thread.currentThread() == this.asyncStarter) {
+            return;
+        }
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("CephContainer failed to start asynchronously", e.getCause());
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Asynchronous CephContainer start was cancelled", e);
+        }
+    }
+
+    /**
+     * Creates all users in one admin call, each user's commands running
+     * concurrently, then creates the buckets with their owners' keys. Up to
+     * {@value #BUCKET_PROVISIONING_PARALLELISM} buckets are provisioned at a
+     * time; the requests of one bucket are sent one after another, as its
+     * settings need the bucket to exist.
+     */
+    private void provisionUsersAndBuckets() {
+        if (!this.users.isEmpty()) {
+            StringBuilder script = new StringBuilder("set -e\npids=\"\"\n");
+            for (CephUser user : this.users.values()) {
+                script.append("(\nset -e\n").append(user.provisioningScript()).append(") &\n")
+                        .append("pids=\"$pids $!\"\n");
+            }
+            script.append("for pid in $pids; do wait \"$pid\"; done\n");
+            execScript(script.toString());
+        }
+        if (this.buckets.isEmpty()) {
+            return;
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(BUCKET_PROVISIONING_PARALLELISM, this.buckets.size()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ceph-bucket-provisioning-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        try {
+            CompletableFuture.allOf(this.buckets.values().stream()
+                    .map(bucket -> CompletableFuture.runAsync(() -> provisionBucket(bucket), executor))
+                    .toArray(CompletableFuture<?>[]::new)
+            ).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to provision buckets", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a declared bucket and applies its settings with its owner's keys.
+     */
+    private void provisionBucket(CephBucket bucket) {
+        CephUser owner = bucket.getOwner() == null ? null : this.users.get(bucket.getOwner());
+        bucket.provision(owner == null
+                ? s3Endpoint(this.cephAccessKey, this.cephSecretKey)
+                : s3Endpoint(owner.getAccessKey(), owner.getSecretKey()));
+    }
+
+    /**
+     * A reused container has been running since an earlier test run, which may
+     * have left it broken or full of objects. It must report a cluster that
+     * is not in error, then gets the same cleanup as {@link #reset()}.
+     */
+    private void prepareReusedContainer() {
+        Object status = CephJson.path(getCephAdmin().ceph("health"), "status");
+        if ("HEALTH_ERR".equals(status)) {
+            throw new IllegalStateException(
+                    "Reused Ceph container " + getContainerId() + " reports HEALTH_ERR; remove it to start a fresh one"
+            );
+        }
+        CephPurgeResult purged = reset();
+        logger().info(
+                "Reusing Ceph container {}, removed {} objects in {} buckets in {} ms",
+                getContainerId(),
+                purged.getObjectsRemoved(),
+                purged.getBucketsPurged(),
+                purged.getDuration().toMillis()
+        );
+    }
+
+    /**
+     * Starts every additional RGW in one admin call, then waits until each of
+     * them answers S3 requests on its mapped port.
+     */
+    private void startAdditionalRgwInstances() {
+        StringBuilder script = new StringBuilder("set -e\n");
+        for (int instance = 1; instance < this.rgwInstances; instance++) {
+            script.append(rgwInstanceScript(instance, CEPH_RGW_DEFAULT_PORT + instance));
+        }
+        execScript(script.toString());
+        for (int instance = 1; instance < this.rgwInstances; instance++) {
+            new CephS3WaitStrategy(CEPH_RGW_DEFAULT_PORT + instance, this.cephAccessKey, this.cephSecretKey, this.cephBucket)
+                    .withStartupTimeout(Duration.ofMinutes(1))
+                    .waitUntilReady(this);
+        }
+    }
+
+    /**
+     * Script that creates the cephx key of one additional RGW, unless a warm
+     * start snapshot already has it, and starts the daemon in the background.
+     * The RGW options of the overlay are passed on the command line, as the
+     * patched {@code ceph.conf} section only applies to the first RGW.
+     */
+    String rgwInstanceScript(int instance, int port) {
+        String name = "client.rgw.extra" + instance;
+        String dataDir = CEPH_DATA_PATH + "/radosgw/ceph-rgw.extra" + instance;
+        return "mkdir -p " + dataDir + "\n" +
+                "ceph auth get-or-create " + name + " mon 'allow rw' osd 'allow rwx' mgr 'allow rw'" +
+                " -o " + dataDir + "/keyring\n" +
+                // radosgw daemonizes itself; its output must not hold on to the admin session
+                "radosgw --cluster ceph --name " + name +
+                " --keyring " + dataDir + "/keyring" +
+                " --rgw-data " + dataDir +
+                " --log-file /var/log/ceph/ceph-" + name + ".log" +
+                " --admin-socket /var/run/ceph/ceph-" + name + ".asok" +
+                this.cephConfOverlay.getRgwArgs(CEPH_RGW_DEFAULT_PORT, port) +
+                " > /dev/null 2>&1\n";
+    }
+
+    private void ingestSeedData() {
+        long started = System.nanoTime();
+        String[] countAndBytes = execScript(CephSeedData.ingestScript(
+                CEPH_RGW_DEFAULT_PORT, this.cephAccessKey, this.cephSecretKey, this.cephBucket
+        )).trim().split("\\s+");
+        CephSeedResult result = new CephSeedResult(
+                Duration.ofNanos(System.nanoTime() - started),
+                Long.parseLong(countAndBytes[0]),
+                Long.parseLong(countAndBytes[1])
+        );
+        this.seedResult = result;
+        logger().info(
+                "Seeded {} files ({} bytes) into bucket {} in {} ms",
+                result.getObjectsSeeded(),
+                result.getBytesSeeded(),
+                this.cephBucket,
+                result.getDuration().toMillis()
+        );
+    }
+
+    /**
+     * @return the SDK clients of this container, created on first use
+     */
+    CephS3Clients s3Clients() {
+        // Resolved outside the lock: it may wait for an asynchronous start
+        URI cephUrl;
+        try {
+            cephUrl = getCephUrl();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid Ceph URL", e);
+        }
+        synchronized (this) {
+            if (this.s3Clients == null) {
+                this.s3Clients = new CephS3Clients(cephUrl, this.cephAccessKey, this.cephSecretKey, this.crtS3AsyncClient);
+            }
+            return this.s3Clients;
+        }
+    }
+
+    private synchronized void closeS3Clients() {
+        if (this.s3Clients != null) {
+            this.s3Clients.close();
+            this.s3Clients = null;
+        }
+    }
+
+    private synchronized void closeCephAdmin() {
+        if (this.cephAdmin != null) {
+            this.cephAdmin.close();
+            this.cephAdmin = null;
+        }
+    }
+
+    static String shellQuote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    CephS3Endpoint s3Endpoint(String accessKey, String secretKey) {
+        try {
+            return new CephS3Endpoint(getCephUrl(), accessKey, secretKey);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid Ceph URL", e);
+        }
+    }
+
+    private static boolean snapshotImageExists(String imageName) {
+        try {
+            DockerClientFactory.instance().client().inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.lifecycle.Startable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Starts several independent {@link CephContainer}s at once, for example one
+ * per test shard.
+ * <br>
+ * The image is resolved and pulled once before any container is created,
+ * then the containers start concurrently with bounded parallelism. Each
+ * container gets its own access key, secret key and bucket, derived from its
+ * index, so shards cannot accidentally use each other's credentials. If one
+ * container fails to start, the remaining starts are cancelled, every
+ * container of the fleet is stopped and {@link #start()} throws.
+ */
+public class CephContainerFleet implements Startable {
+    private final List<CephContainer> containers;
+
+    private int parallelism;
+
+    private Duration imagePreparationDuration;
+
+    private Duration totalStartupDuration;
+
+    private final List<Duration> startupDurations;
+
+    /**
+     * @param size number of default containers to start
+     */
+    public CephContainerFleet(int size) {
+        this(size, CephContainer::new);
+    }
+
+    /**
+     * @param size number of containers to start
+     * @param containerFactory creates the (not yet started) containers; their
+     * credentials and bucket are replaced by per-instance values
+     */
+    public CephContainerFleet(int size, Supplier<CephContainer> containerFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Fleet size must be at least 1, was " + size);
+        }
+        List<CephContainer> created = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            created.add(containerFactory.get()
+                    .withCephAccessKey(String.format("fleet%daccess", i))
+                    .withCephSecretKey(String.format("fleet%dsecret", i))
+                    .withCephBucket(String.format("fleet-%d", i)));
+        }
+        this.containers = Collections.unmodifiableList(created);
+        this.startupDurations = new ArrayList<>(Collections.nCopies(size, null));
+        this.parallelism = Math.min(size, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Limit how many containers bootstrap at the same time. Defaults to the
+     * fleet size capped at the number of available processors.
+     *
+     * @param parallelism maximum number of concurrent starts
+     * @return this fleet for chaining
+     */
+    public CephContainerFleet withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Resolves the images, then starts all containers.
+     *
+     * @throws IllegalStateException if any container fails to start; the
+     * whole fleet is stopped before it is thrown
+     */
+    @Override
+    public void start() {
+        long started = System.nanoTime();
+        // The first resolution pulls, the others find the image in the local cache
+        containers.forEach(CephContainer::getDockerImageName);
+        this.imagePreparationDuration = Duration.ofNanos(System.nanoTime() - started);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, containers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "ceph-fleet-start-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> starts = new ArrayList<>(containers.size());
+        try {
+            for (int i = 0; i < containers.size(); i++) {
+                final int index = i;
+                starts.add(completionService.submit(() -> {
+                    long containerStarted = System.nanoTime();
+                    containers.get(index).start();
+                    synchronized (startupDurations) {
+                        startupDurations.set(index, Duration.ofNanos(System.nanoTime() - containerStarted));
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < containers.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (ExecutionException e) {
+            abort(starts, executor);
+            throw new IllegalStateException("Ceph fleet failed to start", e.getCause());
+        } catch (InterruptedException e) {
+            abort(starts, executor);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting Ceph fleet", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        this.totalStartupDuration = Duration.ofNanos(System.nanoTime() - started);
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(CephContainer::stop);
+    }
+
+    public List<CephContainer> getContainers() {
+        return containers;
+    }
+
+    /**
+     * @return wall time of the last {@link #start()}, including image
+     * preparation, or null if the fleet has not been started
+     */
+    public Duration getTotalStartupDuration() {
+        return totalStartupDuration;
+    }
+
+    /**
+     * @return how long resolving and pulling the images took, or null if the
+     * fleet has not been started
+     */
+    public Duration getImagePreparationDuration() {
+        return imagePreparationDuration;
+    }
+
+    /**
+     * @return start duration of each container, in the order of
+     * {@link #getContainers()}; null for containers that did not start
+     */
+    public List<Duration> getStartupDurations() {
+        synchronized (startupDurations) {
+            return Collections.unmodifiableList(new ArrayList<>(startupDurations));
+        }
+    }
+
+    private void abort(List<Future<Void>> starts, ExecutorService executor) {
+        starts.forEach(start -> start.cancel(true));
+        executor.shutdownNow();
+        try {
+            // Let interrupted starts unwind so no container is created after the stop below
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stop();
+    }
+}
@@ -0,0 +1,200 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.lifecycle.Startables;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shares a small number of running {@link CephContainer}s and hands out
+ * isolated {@link CephBucketLease}s on top of them.
+ * <br>
+ * Each lease gets its own freshly created RGW user, keys and bucket, so tests
+ * running in parallel against the same container cannot see each other's
+ * objects. Containers are started lazily on the first lease; leases are
+ * spread round-robin across them. Releasing a lease purges the user and all
+ * of its data on a background thread. Purges that fail are counted by
+ * {@link #getFailedReleaseCount()} and reported by {@link #close()}.
+ * <br>
+ * Use {@link #shared()} for one container per JVM, or create a dedicated pool
+ * when you need more containers or a customised image.
+ */
+public class CephContainerPool implements AutoCloseable {
+    private static final CephContainerPool SHARED = new CephContainerPool(1, CephContainer::new);
+
+    private static final String LEASE_PREFIX = "lease";
+
+    private static final char[] KEY_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final List<CephContainer> containers;
+
+    private final AtomicInteger nextContainer = new AtomicInteger();
+
+    private final AtomicLong leaseCounter = new AtomicLong();
+
+    private final ExecutorService releaseExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ceph-lease-release");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Exception> releaseFailures = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile boolean started;
+
+    private volatile boolean closed;
+
+    /**
+     * @param size number of containers to keep running
+     * @param containerFactory creates the (not yet started) containers
+     */
+    public CephContainerPool(int size, Supplier<CephContainer> containerFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + size);
+        }
+        List<CephContainer> created = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            created.add(containerFactory.get());
+        }
+        this.containers = Collections.unmodifiableList(created);
+    }
+
+    /**
+     * @return the JVM-wide pool backed by a single default {@link CephContainer}.
+     * It lives until the JVM exits and should not be closed by tests.
+     */
+    public static CephContainerPool shared() {
+        return SHARED;
+    }
+
+    public List<CephContainer> getContainers() {
+        return containers;
+    }
+
+    /**
+     * @return number of released leases whose user could not be purged, so
+     * far. Useful for the {@link #shared()} pool, which is never closed.
+     */
+    public int getFailedReleaseCount() {
+        return releaseFailures.size();
+    }
+
+    /**
+     * Creates a new RGW user with its own keys and bucket on one of the pooled
+     * containers, starting the containers first if needed. Safe to call from
+     * concurrent test threads.
+     *
+     * @return the lease; close it when the test is done
+     */
+    public CephBucketLease lease() {
+        ensureStarted();
+        CephContainer container = containers.get(Math.floorMod(nextContainer.getAndIncrement(), containers.size()));
+        String name = String.format("%s-%d-%s", LEASE_PREFIX, leaseCounter.incrementAndGet(), randomString(8).toLowerCase());
+        String accessKey = randomString(20);
+        String secretKey = randomString(40);
+        CephAdmin admin = container.getCephAdmin();
+        admin.radosgwAdmin(
+                "user", "create", "--uid=" + name, "--display-name=" + name,
+                "--access-key=" + accessKey, "--secret=" + secretKey
+        );
+        try {
+            container.s3Endpoint(accessKey, secretKey).createBucket(name);
+        } catch (RuntimeException e) {
+            // Nobody gets a lease for this user, so nobody would release it
+            try {
+                admin.radosgwAdmin("user", "rm", "--uid=" + name, "--purge-data");
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        return new CephBucketLease(this, container, name, accessKey, secretKey, name);
+    }
+
+    /**
+     * Finishes all pending lease purges, then stops the pooled containers.
+     *
+     * @throws IllegalStateException if any lease purge failed, with each
+     * failure attached as a suppressed exception
+     */
+    @Override
+    public void close() {
+        synchronized (releaseExecutor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releaseExecutor.shutdown();
+        }
+        try {
+            // Every purge is a single admin command, which is bounded by the
+            // container's admin command timeout
+            releaseExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseFailures.add(new IllegalStateException("Interrupted while waiting for pending lease purges", e));
+        }
+        containers.forEach(CephContainer::stop);
+        List<Exception> failures;
+        synchronized (releaseFailures) {
+            failures = new ArrayList<>(releaseFailures);
+        }
+        if (!failures.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException(
+                    failures.size() + " lease release(s) of CephContainerPool failed"
+            );
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    void release(CephBucketLease lease) {
+        synchronized (releaseExecutor) {
+            if (closed) {
+                throw new IllegalStateException(
+                        "CephContainerPool is closed, lease user " + lease.getUid() + " was released too late to be purged"
+                );
+            }
+            releaseExecutor.execute(() -> {
+                try {
+                    lease.getContainer().getCephAdmin()
+                            .radosgwAdmin("user", "rm", "--uid=" + lease.getUid(), "--purge-data");
+                } catch (RuntimeException e) {
+                    releaseFailures.add(new IllegalStateException("Failed to purge lease user " + lease.getUid(), e));
+                }
+            });
+        }
+    }
+
+    private void ensureStarted() {
+        if (closed) {
+            throw new IllegalStateException("CephContainerPool is closed");
+        }
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    Startables.deepStart(containers).join();
+                    started = true;
+                }
+            }
+        }
+    }
+
+    private static String randomString(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = KEY_ALPHABET[RANDOM.nextInt(KEY_ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,216 @@
+package org.testcontainers.containers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small JSON reader for the output of {@code radosgw-admin} and {@code ceph},
+ * so the module does not need a JSON library on the classpath.
+ * <br>
+ * Objects become {@link Map}s, arrays {@link List}s, numbers {@link Long} or
+ * {@link Double}, and {@code true}, {@code false} and {@code null} their Java
+ * counterparts.
+ */
+final class CephJson {
+    private final String json;
+
+    private int position;
+
+    private CephJson(String json) {
+        this.json = json;
+    }
+
+    static Object parse(String json) {
+        CephJson parser = new CephJson(json);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != json.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Follows a path of object keys and returns the value there, or null if
+     * any part of the path is missing.
+     */
+    static Object path(Object value, String... keys) {
+        Object current = value;
+        for (String key : keys) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<?, ?>) current).get(key);
+        }
+        return current;
+    }
+
+    static long pathAsLong(Object value, String... keys) {
+        Object number = path(value, keys);
+        return number instanceof Number ? ((Number) number).longValue() : 0L;
+    }
+
+    private Object readValue() {
+        if (position >= json.length()) {
+            throw error("Unexpected end of input");
+        }
+        char next = json.charAt(position);
+        switch (next) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                return readNumber();
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(":");
+            skipWhitespace();
+            object.put(key, readValue());
+            skipWhitespace();
+            char separator = next();
+            if (separator == '}') {
+                return object;
+            }
+            if (separator != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return array;
+        }
+        while (true) {
+            skipWhitespace();
+            array.add(readValue());
+            skipWhitespace();
+            char separator = next();
+            if (separator == ']') {
+                return array;
+            }
+            if (separator != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private String readString() {
+        expect("\"");
+        StringBuilder string = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return string.toString();
+            }
+            if (c != '\\') {
+                string.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'b':
+                    string.append('\b');
+                    break;
+                case 'f':
+                    string.append('\f');
+                    break;
+                case 'n':
+                    string.append('\n');
+                    break;
+                case 'r':
+                    string.append('\r');
+                    break;
+                case 't':
+                    string.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > json.length()) {
+                        throw error("Truncated unicode escape");
+                    }
+                    string.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                    position += 4;
+                    break;
+                default:
+                    string.append(escaped);
+            }
+        }
+    }
+
+    private Number readNumber() {
+        int start = position;
+        while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+            position++;
+        }
+        String number = json.substring(start, position);
+        if (number.isEmpty()) {
+            throw error("Unexpected character '" + json.charAt(start) + "'");
+        }
+        if (number.contains(".") || number.contains("e") || number.contains("E")) {
+            return Double.parseDouble(number);
+        }
+        return Long.parseLong(number);
+    }
+
+    private void expect(String token) {
+        if (!json.startsWith(token, position)) {
+            throw error("Expected '" + token + "'");
+        }
+        position += token.length();
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw error("Unexpected end of input");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of JSON output");
+    }
+}
@@ -0,0 +1,387 @@
+package org.testcontainers.containers;
+
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a mix of S3 operations against a running {@link CephContainer} and
+ * reports throughput and latency percentiles.
+ * <pre>{@code
+ * CephLoadResult result = CephLoadGenerator.builder(ceph)
+ *         .operation(CephLoadOperation.GET, 70)
+ *         .operation(CephLoadOperation.PUT, 30)
+ *         .objectSizes(4 * 1024, 1024 * 1024)
+ *         .concurrency(64)
+ *         .warmup(Duration.ofSeconds(5))
+ *         .duration(Duration.ofSeconds(30))
+ *         .build()
+ *         .run();
+ * }</pre>
+ * Before the run, the bucket is created if needed and every key of the key
+ * space is uploaded once, so GETs find objects from the start.
+ * <br>
+ * In the default closed-loop mode, {@code concurrency} workers each issue
+ * the next operation as soon as the previous one completes. With
+ * {@link Builder#fixedRate(double)}, operations are issued on a fixed
+ * schedule regardless of how fast the server answers, with at most
+ * {@code concurrency} in flight; latency is then measured from the scheduled
+ * start, so a stalled server shows up in the percentiles instead of merely
+ * lowering the request rate.
+ * <br>
+ * Requests go through {@link CephS3Clients#getS3AsyncClient()}, so the AWS
+ * SDK must be on the classpath.
+ */
+public final class CephLoadGenerator {
+    private static final String KEY_PREFIX = "load/";
+
+    /**
+     * A single thread issues the fixed-rate schedule; beyond this its
+     * interval drops below a microsecond and the schedule is meaningless.
+     */
+    static final double MAX_OPERATIONS_PER_SECOND = 1_000_000;
+
+    private final CephContainer container;
+
+    private final String bucket;
+
+    private final CephLoadOperation[] operationTable;
+
+    private final int[] objectSizes;
+
+    private final int keySpace;
+
+    private final int concurrency;
+
+    private final double operationsPerSecond;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    private final List<byte[]> payloads = new ArrayList<>();
+
+    private CephLoadGenerator(Builder builder) {
+        this.container = builder.container;
+        this.bucket = builder.bucket;
+        this.objectSizes = builder.objectSizes;
+        this.keySpace = builder.keySpace;
+        this.concurrency = builder.concurrency;
+        this.operationsPerSecond = builder.operationsPerSecond;
+        this.warmup = builder.warmup;
+        this.duration = builder.duration;
+        // One slot per weight unit: picking an operation is a single array lookup
+        List<CephLoadOperation> table = new ArrayList<>();
+        builder.weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        this.operationTable = table.toArray(new CephLoadOperation[0]);
+        Random random = new Random(42);
+        for (int size : objectSizes) {
+            byte[] payload = new byte[size];
+            random.nextBytes(payload);
+            payloads.add(payload);
+        }
+    }
+
+    public static Builder builder(CephContainer container) {
+        return new Builder(container);
+    }
+
+    /**
+     * Prepares the bucket, runs the warmup and then the measured phase.
+     *
+     * @return results of the measured phase
+     */
+    public CephLoadResult run() {
+        S3AsyncClient client = CephS3Clients.forContainer(container).getS3AsyncClient();
+        prepare(client);
+        CephLoadResult result = new CephLoadResult(duration);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        if (operationsPerSecond > 0) {
+            runFixedRate(client, result, measureFrom, end);
+        } else {
+            runClosedLoop(client, result, measureFrom, end);
+        }
+        return result;
+    }
+
+    private void prepare(S3AsyncClient client) {
+        try {
+            client.createBucket(b -> b.bucket(bucket)).join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof BucketAlreadyOwnedByYouException)) {
+                throw e;
+            }
+        }
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<?>> uploads = new ArrayList<>(keySpace);
+        for (int key = 0; key < keySpace; key++) {
+            inFlight.acquireUninterruptibly();
+            uploads.add(put(client, key, payloads.get(key % payloads.size()))
+                    .whenComplete((bytes, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(uploads.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private void runClosedLoop(S3AsyncClient client, CephLoadResult result, long measureFrom, long end) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "ceph-load-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    CephLoadOperation operation = nextOperation();
+                    long started = System.nanoTime();
+                    CompletableFuture<Long> completion = execute(client, operation);
+                    try {
+                        long bytes = completion.join();
+                        record(result, operation, started, measureFrom, bytes, false);
+                    } catch (CompletionException e) {
+                        recordFailure(result, operation, started, measureFrom, e.getCause());
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        awaitTermination(workers);
+    }
+
+    private void runFixedRate(S3AsyncClient client, CephLoadResult result, long measureFrom, long end) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long interval = (long) (1e9 / operationsPerSecond);
+        for (long scheduled = System.nanoTime(); scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquireUninterruptibly();
+            CephLoadOperation operation = nextOperation();
+            long intendedStart = scheduled;
+            execute(client, operation).whenComplete((bytes, error) -> {
+                if (error == null) {
+                    record(result, operation, intendedStart, measureFrom, bytes, false);
+                } else {
+                    recordFailure(result, operation, intendedStart, measureFrom,
+                            error instanceof CompletionException ? error.getCause() : error);
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquireUninterruptibly(concurrency);
+    }
+
+    private CompletableFuture<Long> execute(S3AsyncClient client, CephLoadOperation operation) {
+        int key = ThreadLocalRandom.current().nextInt(keySpace);
+        switch (operation) {
+            case PUT:
+                return put(client, key, payloads.get(ThreadLocalRandom.current().nextInt(payloads.size())));
+            case GET:
+                return client.getObject(b -> b.bucket(bucket).key(KEY_PREFIX + key), AsyncResponseTransformer.toBytes())
+                        .thenApply(response -> (long) response.asByteArrayUnsafe().length);
+            case LIST:
+                return client.listObjectsV2(b -> b.bucket(bucket).prefix(KEY_PREFIX).maxKeys(100))
+                        .thenApply(response -> 0L);
+            case DELETE:
+                return client.deleteObject(b -> b.bucket(bucket).key(KEY_PREFIX + key))
+                        .thenApply(response -> 0L);
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private CompletableFuture<Long> put(S3AsyncClient client, int key, byte[] payload) {
+        return client.putObject(b -> b.bucket(bucket).key(KEY_PREFIX + key), AsyncRequestBody.fromBytesUnsafe(payload))
+                .thenApply(response -> (long) payload.length);
+    }
+
+    private CephLoadOperation nextOperation() {
+        return operationTable[ThreadLocalRandom.current().nextInt(operationTable.length)];
+    }
+
+    private static void record(CephLoadResult result, CephLoadOperation operation, long started, long measureFrom,
+                               long bytes, boolean notFound) {
+        if (started >= measureFrom) {
+            result.record(operation, System.nanoTime() - started, bytes, notFound);
+        }
+    }
+
+    private static void recordFailure(CephLoadResult result, CephLoadOperation operation, long started,
+                                      long measureFrom, Throwable error) {
+        if (error instanceof NoSuchKeyException) {
+            record(result, operation, started, measureFrom, 0, true);
+        } else if (started >= measureFrom) {
+            result.recordError(operation);
+        }
+    }
+
+    private void awaitTermination(ExecutorService workers) {
+        try {
+            if (!workers.awaitTermination(duration.plus(warmup).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+                throw new IllegalStateException("Load generator workers did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating load", e);
+        }
+    }
+
+    public static final class Builder {
+        private final CephContainer container;
+
+        private final Map<CephLoadOperation, Integer> weights = new EnumMap<>(CephLoadOperation.class);
+
+        private String bucket;
+
+        private int[] objectSizes = {4 * 1024};
+
+        private int keySpace = 1000;
+
+        private int concurrency = 32;
+
+        private double operationsPerSecond;
+
+        private Duration warmup = Duration.ZERO;
+
+        private Duration duration = Duration.ofSeconds(10);
+
+        private Builder(CephContainer container) {
+            this.container = container;
+        }
+
+        /**
+         * Adds an operation to the mix. Without any, the mix is 100% GET.
+         *
+         * @param weight relative share of this operation, e.g. 70 and 30
+         */
+        public Builder operation(CephLoadOperation operation, int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weight must be at least 1, was " + weight);
+            }
+            weights.put(operation, weight);
+            return this;
+        }
+
+        /**
+         * @param bucket bucket to run against; defaults to the container's bucket
+         */
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        /**
+         * @param sizes positive object sizes in bytes; each PUT picks one at random
+         */
+        public Builder objectSizes(int... sizes) {
+            if (sizes.length == 0) {
+                throw new IllegalArgumentException("At least one object size is required");
+            }
+            for (int size : sizes) {
+                if (size < 1) {
+                    throw new IllegalArgumentException("Object size must be at least 1 byte, was " + size);
+                }
+            }
+            this.objectSizes = sizes.clone();
+            return this;
+        }
+
+        /**
+         * @param keys number of distinct object keys the operations pick from
+         */
+        public Builder keySpace(int keys) {
+            if (keys < 1) {
+                throw new IllegalArgumentException("Key space must be at least 1, was " + keys);
+            }
+            this.keySpace = keys;
+            return this;
+        }
+
+        /**
+         * @param concurrency closed-loop workers, or the in-flight limit at a fixed rate
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1, was " + concurrency);
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Issue operations on a fixed schedule instead of in a closed loop.
+         *
+         * @param operationsPerSecond positive rate of at most one million
+         */
+        public Builder fixedRate(double operationsPerSecond) {
+            // Also rejects NaN
+            if (!(operationsPerSecond > 0 && operationsPerSecond <= MAX_OPERATIONS_PER_SECOND)) {
+                throw new IllegalArgumentException(String.format(
+                        "Rate must be positive and at most %.0f operations per second, was %s",
+                        MAX_OPERATIONS_PER_SECOND,
+                        operationsPerSecond
+                ));
+            }
+            this.operationsPerSecond = operationsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param warmup time the load runs before measuring starts, zero for none
+         */
+        public Builder warmup(Duration warmup) {
+            if (warmup == null || warmup.isNegative()) {
+                throw new IllegalArgumentException("Warmup must be zero or positive, was " + warmup);
+            }
+            this.warmup = warmup;
+            return this;
+        }
+
+        /**
+         * @param duration positive length of the measured phase
+         */
+        public Builder duration(Duration duration) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Duration must be positive, was " + duration);
+            }
+            this.duration = duration;
+            return this;
+        }
+
+        public CephLoadGenerator build() {
+            if (weights.isEmpty()) {
+                weights.put(CephLoadOperation.GET, 1);
+            }
+            if (bucket == null) {
+                bucket = container.getCephBucket();
+            }
+            return new CephLoadGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.testcontainers.containers;
+
+/**
+ * S3 operations driven by {@link CephLoadGenerator}.
+ */
+public enum CephLoadOperation {
+    /** Upload an object of one of the configured sizes. */
+    PUT,
+    /** Download a whole object. */
+    GET,
+    /** List up to 100 keys of the load prefix. */
+    LIST,
+    /** Delete an object; a later GET of the same key counts as not found. */
+    DELETE
+}
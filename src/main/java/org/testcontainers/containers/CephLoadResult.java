@@ -0,0 +1,143 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a {@link CephLoadGenerator} run, covering only the measured
+ * phase after the warmup.
+ */
+public final class CephLoadResult {
+    private final Duration duration;
+
+    private final Map<CephLoadOperation, OperationStats> operations;
+
+    private final CephLatencyHistogram latency = new CephLatencyHistogram();
+
+    CephLoadResult(Duration duration) {
+        this.duration = duration;
+        Map<CephLoadOperation, OperationStats> stats = new EnumMap<>(CephLoadOperation.class);
+        for (CephLoadOperation operation : CephLoadOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        this.operations = Collections.unmodifiableMap(stats);
+    }
+
+    void record(CephLoadOperation operation, long latencyNanos, long bytes, boolean notFound) {
+        OperationStats stats = operations.get(operation);
+        stats.latency.record(latencyNanos);
+        stats.bytes.add(bytes);
+        if (notFound) {
+            stats.notFound.increment();
+        }
+        latency.record(latencyNanos);
+    }
+
+    void recordError(CephLoadOperation operation) {
+        operations.get(operation).errors.increment();
+    }
+
+    /**
+     * @return length of the measured phase
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return completed operations of all types, excluding errors
+     */
+    public long getOperationCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    /**
+     * @return completed operations per second
+     */
+    public double getThroughput() {
+        return getOperationCount() / (duration.toNanos() / 1e9);
+    }
+
+    /**
+     * @return object payload bytes uploaded and downloaded per second
+     */
+    public double getBytesPerSecond() {
+        long bytes = operations.values().stream().mapToLong(OperationStats::getBytes).sum();
+        return bytes / (duration.toNanos() / 1e9);
+    }
+
+    /**
+     * @return latency over all operation types
+     */
+    public CephLatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public OperationStats getOperation(CephLoadOperation operation) {
+        return operations.get(operation);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "CephLoadResult duration=%ds ops=%d errors=%d throughput=%.1f ops/s %.2f MiB/s%n  ALL    %s",
+                duration.getSeconds(),
+                getOperationCount(),
+                getErrorCount(),
+                getThroughput(),
+                getBytesPerSecond() / (1024 * 1024),
+                latency
+        ));
+        operations.forEach((operation, stats) -> {
+            if (stats.getLatency().getCount() > 0 || stats.getErrors() > 0) {
+                summary.append(String.format("%n  %-6s %s errors=%d", operation, stats.getLatency(), stats.getErrors()));
+            }
+        });
+        return summary.toString();
+    }
+
+    /**
+     * Results of one operation type.
+     */
+    public static final class OperationStats {
+        private final CephLatencyHistogram latency = new CephLatencyHistogram();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder notFound = new LongAdder();
+
+        private OperationStats() {
+        }
+
+        public CephLatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return object payload bytes moved by this operation type
+         */
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * @return completed GETs of keys that a DELETE removed earlier
+         */
+        public long getNotFound() {
+            return notFound.sum();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Perf counters of one kind of Ceph daemon, summed over all daemons of that
+ * kind, as reported by {@code perf dump} on their admin sockets.
+ * <br>
+ * Counters are named {@code section.counter}, e.g. {@code rgw.req} or
+ * {@code osd.op_w}. Latency counters, e.g. {@code osd.op_latency}, are kept
+ * as number of samples and total time.
+ */
+public final class CephPerfCounters {
+    private final Map<String, Long> counts;
+
+    private final Map<String, Long> latencyCounts;
+
+    private final Map<String, Long> latencyNanos;
+
+    private CephPerfCounters(Map<String, Long> counts, Map<String, Long> latencyCounts, Map<String, Long> latencyNanos) {
+        this.counts = Collections.unmodifiableMap(counts);
+        this.latencyCounts = Collections.unmodifiableMap(latencyCounts);
+        this.latencyNanos = Collections.unmodifiableMap(latencyNanos);
+    }
+
+    /**
+     * @return the counter value, or 0 if no daemon reports it
+     */
+    public long getCount(String name) {
+        return counts.getOrDefault(name, 0L);
+    }
+
+    /**
+     * @return all plain counters by name
+     */
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    /**
+     * @return number of samples of a latency counter
+     */
+    public long getLatencyCount(String name) {
+        return latencyCounts.getOrDefault(name, 0L);
+    }
+
+    /**
+     * @return mean of a latency counter, or zero without samples
+     */
+    public Duration getAverageLatency(String name) {
+        long samples = getLatencyCount(name);
+        return samples == 0 ? Duration.ZERO : Duration.ofNanos(latencyNanos.getOrDefault(name, 0L) / samples);
+    }
+
+    /**
+     * Sums the parsed {@code perf dump} output of several daemons.
+     */
+    static CephPerfCounters of(Collection<?> perfDumps) {
+        Map<String, Long> counts = new TreeMap<>();
+        Map<String, Long> latencyCounts = new TreeMap<>();
+        Map<String, Long> latencyNanos = new TreeMap<>();
+        for (Object dump : perfDumps) {
+            if (!(dump instanceof Map)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> section : ((Map<?, ?>) dump).entrySet()) {
+                if (!(section.getValue() instanceof Map)) {
+                    continue;
+                }
+                for (Map.Entry<?, ?> counter : ((Map<?, ?>) section.getValue()).entrySet()) {
+                    String name = section.getKey() + "." + counter.getKey();
+                    Object value = counter.getValue();
+                    if (value instanceof Number) {
+                        counts.merge(name, ((Number) value).longValue(), Long::sum);
+                    } else if (value instanceof Map && ((Map<?, ?>) value).containsKey("avgcount")) {
+                        // Latencies report "sum" in seconds; histograms and other shapes are skipped
+                        Object sum = ((Map<?, ?>) value).get("sum");
+                        latencyCounts.merge(name, CephJson.pathAsLong(value, "avgcount"), Long::sum);
+                        long nanos = sum instanceof Number ? Math.round(((Number) sum).doubleValue() * 1e9) : 0L;
+                        latencyNanos.merge(name, nanos, Long::sum);
+                    }
+                }
+            }
+        }
+        return new CephPerfCounters(counts, latencyCounts, latencyNanos);
+    }
+
+    /**
+     * @return the counters that accumulated since {@code earlier}
+     */
+    CephPerfCounters minus(CephPerfCounters earlier) {
+        return new CephPerfCounters(
+                subtract(counts, earlier.counts),
+                subtract(latencyCounts, earlier.latencyCounts),
+                subtract(latencyNanos, earlier.latencyNanos)
+        );
+    }
+
+    private static Map<String, Long> subtract(Map<String, Long> later, Map<String, Long> earlier) {
+        Map<String, Long> difference = new TreeMap<>();
+        later.forEach((name, value) -> difference.put(name, value - earlier.getOrDefault(name, 0L)));
+        return difference;
+    }
+
+    @Override
+    public String toString() {
+        return "CephPerfCounters" + counts;
+    }
+}
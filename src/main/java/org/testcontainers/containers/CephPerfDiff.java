@@ -0,0 +1,152 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What the RGW and OSD daemons did between two {@link CephPerfSnapshot}s,
+ * for assertions such as "this code path issued at most 3 GETs".
+ * <pre>{@code
+ * CephPerfSnapshot before = ceph.getPerfSnapshot();
+ * repository.load("key");
+ * CephPerfDiff diff = ceph.getPerfSnapshot().since(before);
+ * assertThat(diff.getRgwRequests()).isLessThanOrEqualTo(3);
+ * }</pre>
+ * The typed getters read the counters of the quincy and reef releases; the
+ * raw counters stay available through {@link #getRgw()} and {@link #getOsd()}.
+ * Admin-socket requests made by the snapshots themselves are not counted.
+ */
+public final class CephPerfDiff {
+    private static final String RGW_OP_SECTION = "rgw_op.";
+
+    private static final String RGW_OP_SUFFIX = "_ops";
+
+    private final Duration elapsed;
+
+    private final CephPerfCounters rgw;
+
+    private final CephPerfCounters osd;
+
+    CephPerfDiff(Duration elapsed, CephPerfCounters rgw, CephPerfCounters osd) {
+        this.elapsed = elapsed;
+        this.rgw = rgw;
+        this.osd = osd;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public CephPerfCounters getRgw() {
+        return rgw;
+    }
+
+    public CephPerfCounters getOsd() {
+        return osd;
+    }
+
+    /**
+     * @return S3 requests the RGW handled, of any type
+     */
+    public long getRgwRequests() {
+        return rgw.getCount("rgw.req");
+    }
+
+    /**
+     * @return S3 requests the RGW answered with an error
+     */
+    public long getRgwFailedRequests() {
+        return rgw.getCount("rgw.failed_req");
+    }
+
+    /**
+     * RGW requests by operation. Always contains {@code get} and {@code put}
+     * (object reads and writes); releases that keep per-operation counters
+     * add entries such as {@code list_obj} or {@code delete_obj}.
+     *
+     * @return request count per operation
+     */
+    public Map<String, Long> getRgwOpCounts() {
+        Map<String, Long> ops = new TreeMap<>();
+        ops.put("get", rgw.getCount("rgw.get"));
+        ops.put("put", rgw.getCount("rgw.put"));
+        rgw.getCounts().forEach((name, value) -> {
+            if (name.startsWith(RGW_OP_SECTION) && name.endsWith(RGW_OP_SUFFIX)) {
+                ops.put(name.substring(RGW_OP_SECTION.length(), name.length() - RGW_OP_SUFFIX.length()), value);
+            }
+        });
+        return ops;
+    }
+
+    /**
+     * @return object payload bytes the RGW received
+     */
+    public long getRgwBytesIn() {
+        return rgw.getCount("rgw.put_b");
+    }
+
+    /**
+     * @return object payload bytes the RGW sent
+     */
+    public long getRgwBytesOut() {
+        return rgw.getCount("rgw.get_b");
+    }
+
+    /**
+     * @return mean time to the first byte of object reads at the RGW
+     */
+    public Duration getRgwGetLatency() {
+        return rgw.getAverageLatency("rgw.get_initial_lat");
+    }
+
+    /**
+     * @return mean time to the first byte of object writes at the RGW
+     */
+    public Duration getRgwPutLatency() {
+        return rgw.getAverageLatency("rgw.put_initial_lat");
+    }
+
+    /**
+     * @return client operations the OSDs handled, reads and writes
+     */
+    public long getOsdOps() {
+        return osd.getCount("osd.op");
+    }
+
+    public long getOsdReadOps() {
+        return osd.getCount("osd.op_r");
+    }
+
+    public long getOsdWriteOps() {
+        return osd.getCount("osd.op_w");
+    }
+
+    /**
+     * @return client payload bytes written to the OSDs
+     */
+    public long getOsdBytesIn() {
+        return osd.getCount("osd.op_in_bytes");
+    }
+
+    /**
+     * @return client payload bytes read from the OSDs
+     */
+    public long getOsdBytesOut() {
+        return osd.getCount("osd.op_out_bytes");
+    }
+
+    /**
+     * @return mean latency of client operations at the OSDs
+     */
+    public Duration getOsdLatency() {
+        return osd.getAverageLatency("osd.op_latency");
+    }
+
+    @Override
+    public String toString() {
+        return "CephPerfDiff{elapsed=" + elapsed.toMillis() + "ms, rgwRequests=" + getRgwRequests() +
+                ", rgwOps=" + getRgwOpCounts() + ", rgwBytesIn=" + getRgwBytesIn() +
+                ", rgwBytesOut=" + getRgwBytesOut() + ", osdOps=" + getOsdOps() + "}";
+    }
+}
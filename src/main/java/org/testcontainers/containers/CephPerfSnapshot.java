@@ -0,0 +1,97 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RGW and OSD perf counters at one point in time, taken with
+ * {@link CephContainer#getPerfSnapshot()}. Compare two snapshots with
+ * {@link #since(CephPerfSnapshot)}.
+ */
+public final class CephPerfSnapshot {
+    /**
+     * Dumps the counters of every RGW and OSD admin socket concurrently and
+     * prints them as one JSON object keyed by socket name.
+     */
+    static final String CAPTURE_SCRIPT = "set -e\n" +
+            "dir=$(mktemp -d)\n" +
+            "pids=\"\"\n" +
+            "for socket in /var/run/ceph/*.asok; do\n" +
+            "  case \"$socket\" in *client.rgw*|*osd.*) ;; *) continue ;; esac\n" +
+            "  ceph daemon \"$socket\" perf dump > \"$dir/$(basename \"$socket\" .asok)\" &\n" +
+            "  pids=\"$pids $!\"\n" +
+            "done\n" +
+            "for pid in $pids; do wait \"$pid\"; done\n" +
+            "separator=''\n" +
+            "printf '{'\n" +
+            "for dump in \"$dir\"/*; do\n" +
+            "  [ -e \"$dump\" ] || continue\n" +
+            "  printf '%s\"%s\":' \"$separator\" \"$(basename \"$dump\")\"\n" +
+            "  cat \"$dump\"\n" +
+            "  separator=','\n" +
+            "done\n" +
+            "printf '}'\n" +
+            "rm -rf \"$dir\"\n";
+
+    private final Instant capturedAt;
+
+    private final CephPerfCounters rgw;
+
+    private final CephPerfCounters osd;
+
+    CephPerfSnapshot(Instant capturedAt, CephPerfCounters rgw, CephPerfCounters osd) {
+        this.capturedAt = capturedAt;
+        this.rgw = rgw;
+        this.osd = osd;
+    }
+
+    /**
+     * @param perfDumps parsed {@code perf dump} output keyed by admin socket
+     *                  name, e.g. {@code ceph-osd.0}
+     */
+    static CephPerfSnapshot of(Instant capturedAt, Map<?, ?> perfDumps) {
+        List<Object> rgwDumps = new ArrayList<>();
+        List<Object> osdDumps = new ArrayList<>();
+        perfDumps.forEach((socket, dump) -> {
+            if (socket.toString().contains("client.rgw")) {
+                rgwDumps.add(dump);
+            } else if (socket.toString().contains("osd.")) {
+                osdDumps.add(dump);
+            }
+        });
+        return new CephPerfSnapshot(capturedAt, CephPerfCounters.of(rgwDumps), CephPerfCounters.of(osdDumps));
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * @return counters of all RADOS gateways
+     */
+    public CephPerfCounters getRgw() {
+        return rgw;
+    }
+
+    /**
+     * @return counters of all OSDs
+     */
+    public CephPerfCounters getOsd() {
+        return osd;
+    }
+
+    /**
+     * @param earlier a snapshot of the same container taken before this one
+     * @return what the daemons did between the two snapshots
+     */
+    public CephPerfDiff since(CephPerfSnapshot earlier) {
+        return new CephPerfDiff(
+                Duration.between(earlier.capturedAt, capturedAt),
+                rgw.minus(earlier.rgw),
+                osd.minus(earlier.osd)
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link CephContainer#reset()} or {@link CephContainer#purge(String)}.
+ */
+public final class CephPurgeResult {
+    private final Duration duration;
+
+    private final long objectsRemoved;
+
+    private final int bucketsPurged;
+
+    CephPurgeResult(Duration duration, long objectsRemoved, int bucketsPurged) {
+        this.duration = duration;
+        this.objectsRemoved = objectsRemoved;
+        this.bucketsPurged = bucketsPurged;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public long getObjectsRemoved() {
+        return objectsRemoved;
+    }
+
+    public int getBucketsPurged() {
+        return bucketsPurged;
+    }
+
+    @Override
+    public String toString() {
+        return "CephPurgeResult{duration=" + duration.toMillis() + "ms, objectsRemoved=" + objectsRemoved +
+                ", bucketsPurged=" + bucketsPurged + "}";
+    }
+}
@@ -0,0 +1,142 @@
+package org.testcontainers.containers;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * AWS SDK clients for the demo user of one {@link CephContainer}, already set
+ * up for the container: path-style access, {@code WHEN_REQUIRED} checksums
+ * and pooled keep-alive HTTP clients sized for many concurrent requests.
+ * <br>
+ * Each client is created on first use, shared by all callers and closed when
+ * the container stops; do not close it yourself. All references to the
+ * optional SDK live in this class, so {@link CephContainer} loads and can be
+ * inspected by reflection without it.
+ * <pre>{@code
+ * CephS3Clients.forContainer(ceph).getS3Client().putObject(...);
+ * }</pre>
+ */
+public final class CephS3Clients {
+    private static final int MAX_CONNECTIONS = 128;
+
+    private static final int MAX_ASYNC_CONCURRENCY = 256;
+
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI endpoint;
+
+    private final StaticCredentialsProvider credentials;
+
+    private final boolean crtAsyncClient;
+
+    private S3Client syncClient;
+
+    private S3AsyncClient asyncClient;
+
+    CephS3Clients(URI endpoint, String accessKey, String secretKey, boolean crtAsyncClient) {
+        this.endpoint = endpoint;
+        this.credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        this.crtAsyncClient = crtAsyncClient;
+    }
+
+    /**
+     * @param container a started container
+     * @return the shared clients of that container
+     */
+    public static CephS3Clients forContainer(CephContainer container) {
+        return container.s3Clients();
+    }
+
+    /**
+     * Needs {@code software.amazon.awssdk:s3} and {@code apache-client} on the classpath.
+     *
+     * @return the shared synchronous client; do not close it
+     */
+    public synchronized S3Client getS3Client() {
+        if (syncClient == null) {
+            syncClient = S3Client.builder()
+                    .endpointOverride(endpoint)
+                    .region(Region.US_EAST_1)
+                    .credentialsProvider(credentials)
+                    // RGW of the quincy image does not support the SDK's default CRC checksums
+                    .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                    .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                    .httpClientBuilder(ApacheHttpClient.builder()
+                            .maxConnections(MAX_CONNECTIONS)
+                            .connectionTimeout(CONNECTION_TIMEOUT)
+                            .tcpKeepAlive(true)
+                            .useIdleConnectionReaper(true))
+                    .build();
+        }
+        return syncClient;
+    }
+
+    /**
+     * Uses the Netty HTTP client, or the AWS CRT when
+     * {@link CephContainer#withCrtS3AsyncClient()} was called.
+     *
+     * @return the shared asynchronous client; do not close it
+     */
+    public synchronized S3AsyncClient getS3AsyncClient() {
+        if (asyncClient == null) {
+            asyncClient = crtAsyncClient ? buildCrtAsyncClient() : buildNettyAsyncClient();
+        }
+        return asyncClient;
+    }
+
+    synchronized void close() {
+        if (syncClient != null) {
+            syncClient.close();
+            syncClient = null;
+        }
+        if (asyncClient != null) {
+            asyncClient.close();
+            asyncClient = null;
+        }
+    }
+
+    private S3AsyncClient buildNettyAsyncClient() {
+        return S3AsyncClient.builder()
+                .endpointOverride(endpoint)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(MAX_ASYNC_CONCURRENCY)
+                        .maxPendingConnectionAcquires(10_000)
+                        .connectionTimeout(CONNECTION_TIMEOUT)
+                        .tcpKeepAlive(true))
+                .build();
+    }
+
+    /**
+     * The CRT client splits large uploads and downloads into parallel part
+     * requests by itself. Needs {@code software.amazon.awssdk.crt:aws-crt} on
+     * the classpath.
+     */
+    private S3AsyncClient buildCrtAsyncClient() {
+        return S3AsyncClient.crtBuilder()
+                .endpointOverride(endpoint)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .forcePathStyle(true)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .maxConcurrency(MAX_ASYNC_CONCURRENCY)
+                .build();
+    }
+}
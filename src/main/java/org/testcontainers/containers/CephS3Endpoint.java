@@ -0,0 +1,75 @@
+package org.testcontainers.containers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Signed S3 calls against an RGW endpoint for the few bucket operations the
+ * module performs itself.
+ */
+final class CephS3Endpoint {
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI endpoint;
+
+    private final CephS3RequestSigner signer;
+
+    CephS3Endpoint(URI endpoint, String accessKey, String secretKey) {
+        this.endpoint = endpoint;
+        this.signer = new CephS3RequestSigner(accessKey, secretKey);
+    }
+
+    /**
+     * Creates the bucket, or does nothing if the caller already owns it.
+     */
+    void createBucket(String bucket) {
+        HttpResponse<String> response = send("PUT", bucket, null, Collections.emptyMap(), new byte[0]);
+        if (response.statusCode() == 409 && response.body().contains("BucketAlreadyOwnedByYou")) {
+            return;
+        }
+        checkSuccess("create bucket " + bucket, response);
+    }
+
+    /**
+     * @param subresource query string such as {@code versioning}, or null
+     */
+    HttpResponse<String> send(String method, String bucket, String subresource, Map<String, String> headers, byte[] body) {
+        URI uri = endpoint.resolve("/" + bucket + (subresource == null ? "" : "?" + subresource));
+        try {
+            return HTTP_CLIENT.send(
+                    signer.sign(method, uri, headers, body, REQUEST_TIMEOUT),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+        } catch (HttpTimeoutException e) {
+            throw new IllegalStateException(
+                    "S3 request " + method + " " + uri + " got no response within " + REQUEST_TIMEOUT, e
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("S3 request " + method + " " + uri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during S3 request " + method + " " + uri, e);
+        }
+    }
+
+    static void checkSuccess(String operation, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(String.format(
+                    "Failed to %s: HTTP %d %s",
+                    operation,
+                    response.statusCode(),
+                    response.body()
+            ));
+        }
+    }
+}
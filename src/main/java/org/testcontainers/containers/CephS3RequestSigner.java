@@ -0,0 +1,165 @@
+package org.testcontainers.containers;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Minimal AWS Signature Version 4 signer for the handful of S3 requests the
+ * container issues itself, so that readiness checks and provisioning work
+ * without an AWS SDK on the classpath.
+ */
+final class CephS3RequestSigner {
+    private static final String REGION = "us-east-1";
+
+    private static final String SERVICE = "s3";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    private static final DateTimeFormatter AMZ_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    CephS3RequestSigner(String accessKey, String secretKey) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    /**
+     * Builds a signed request. The {@code uri} must already be URI-encoded.
+     *
+     * @param timeout how long to wait for the response before the request
+     *                fails with {@link java.net.http.HttpTimeoutException}
+     */
+    HttpRequest sign(String method, URI uri, Map<String, String> headers, byte[] payload, Duration timeout) {
+        Map<String, String> signedHeaders = signedHeaders(method, uri, headers, payload, Instant.now());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, payload.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(payload));
+        // The HTTP client sets Host itself from the URI, using the same value we signed.
+        signedHeaders.forEach((name, value) -> {
+            if (!"host".equals(name)) {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * @return all headers of the request including {@code authorization},
+     * keyed by lower-case header name
+     */
+    Map<String, String> signedHeaders(
+            String method,
+            URI uri,
+            Map<String, String> headers,
+            byte[] payload,
+            Instant now
+    ) {
+        String amzDate = AMZ_DATE_FORMAT.format(now);
+        String date = amzDate.substring(0, 8);
+        String payloadHash = hex(sha256(payload));
+
+        TreeMap<String, String> canonicalHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> canonicalHeaders.put(name.toLowerCase(), value.trim()));
+        canonicalHeaders.put("host", uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+        canonicalHeaders.put("x-amz-content-sha256", payloadHash);
+        canonicalHeaders.put("x-amz-date", amzDate);
+
+        StringBuilder canonicalHeaderBlock = new StringBuilder();
+        canonicalHeaders.forEach((name, value) -> canonicalHeaderBlock.append(name).append(':').append(value).append('\n'));
+        String signedHeaderNames = String.join(";", canonicalHeaders.keySet());
+
+        String canonicalRequest = String.join(
+                "\n",
+                method,
+                uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath(),
+                canonicalQuery(uri.getRawQuery()),
+                canonicalHeaderBlock.toString(),
+                signedHeaderNames,
+                payloadHash
+        );
+        String scope = date + "/" + REGION + "/" + SERVICE + "/aws4_request";
+        String stringToSign = String.join(
+                "\n",
+                ALGORITHM,
+                amzDate,
+                scope,
+                hex(sha256(canonicalRequest.getBytes(StandardCharsets.UTF_8)))
+        );
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        signingKey = hmac(signingKey, REGION);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = hex(hmac(signingKey, stringToSign));
+
+        canonicalHeaders.put(
+                "authorization",
+                ALGORITHM + " Credential=" + accessKey + "/" + scope +
+                        ",SignedHeaders=" + signedHeaderNames +
+                        ",Signature=" + signature
+        );
+        return canonicalHeaders;
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        TreeMap<String, String> parameters = new TreeMap<>();
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                parameters.put(parameter, "");
+            } else {
+                parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+            }
+        }
+        StringJoiner query = new StringJoiner("&");
+        parameters.forEach((name, value) -> query.add(name + "=" + value));
+        return query.toString();
+    }
+
+    static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 algorithm not found", e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
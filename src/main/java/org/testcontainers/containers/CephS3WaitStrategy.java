@@ -0,0 +1,103 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits until the RGW answers a signed S3 {@code HEAD} on a bucket with
+ * {@code 200 OK}.
+ * <br>
+ * Unlike matching the demo script's final log line, this checks what tests
+ * actually need: the gateway is listening, the user's keys are valid and the
+ * bucket exists. The poll interval starts small and backs off, so readiness is
+ * detected within milliseconds of S3 answering without hammering a container
+ * that is still bootstrapping.
+ */
+public class CephS3WaitStrategy extends AbstractWaitStrategy {
+    private static final Duration INITIAL_POLL_INTERVAL = Duration.ofMillis(25);
+
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMillis(500);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+
+    private final int rgwPort;
+
+    private final String bucket;
+
+    private final CephS3RequestSigner signer;
+
+    /**
+     * @param rgwPort container port of the RGW, resolved to its mapped port
+     * @param accessKey access key of a user that can see the bucket
+     * @param secretKey secret key of that user
+     * @param bucket bucket to probe
+     */
+    public CephS3WaitStrategy(int rgwPort, String accessKey, String secretKey, String bucket) {
+        this.rgwPort = rgwPort;
+        this.bucket = bucket;
+        this.signer = new CephS3RequestSigner(accessKey, secretKey);
+    }
+
+    @Override
+    protected void waitUntilReady() {
+        URI bucketUri = URI.create(String.format(
+                "http://%s:%d/%s",
+                waitStrategyTarget.getHost(),
+                waitStrategyTarget.getMappedPort(rgwPort),
+                bucket
+        ));
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+        long pollInterval = INITIAL_POLL_INTERVAL.toMillis();
+        String lastFailure = "no response";
+        while (true) {
+            // An RGW can accept connections long before it answers, so no
+            // request may outlive the startup timeout
+            long remaining = Math.max(deadline - System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(1));
+            Duration requestTimeout = Duration.ofNanos(Math.min(REQUEST_TIMEOUT.toNanos(), remaining));
+            try {
+                HttpResponse<Void> response = client.send(
+                        signer.sign("HEAD", bucketUri, Collections.emptyMap(), new byte[0], requestTimeout),
+                        HttpResponse.BodyHandlers.discarding()
+                );
+                if (response.statusCode() == 200) {
+                    return;
+                }
+                lastFailure = "HTTP " + response.statusCode();
+            } catch (HttpTimeoutException e) {
+                lastFailure = "no response within " + requestTimeout.toMillis() + " ms";
+            } catch (IOException e) {
+                lastFailure = e.toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for Ceph RGW", e);
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new ContainerLaunchException(String.format(
+                        "Timed out after %s waiting for S3 HEAD on bucket '%s' at %s (last result: %s)",
+                        startupTimeout,
+                        bucket,
+                        bucketUri,
+                        lastFailure
+                ));
+            }
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for Ceph RGW", e);
+            }
+            pollInterval = Math.min(pollInterval * 3 / 2, MAX_POLL_INTERVAL.toMillis());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Stream;
+
+/**
+ * A directory tree copied into the container and loaded into a bucket from
+ * inside it, see {@link CephContainer#withSeedData(Path)}.
+ */
+final class CephSeedData {
+    static final String CONTAINER_PATH = "/tmp/ceph-seed";
+
+    private static final int UPLOAD_SHARDS = 4;
+
+    private final MountableFile source;
+
+    private final boolean contentHashed;
+
+    /**
+     * @param contentHashed whether {@link #fingerprint()} reads the file
+     * contents instead of relying on sizes and modification times. Needed for
+     * classpath directories, whose files get fresh modification times
+     * whenever the build copies or a jar extraction recreates them.
+     */
+    CephSeedData(MountableFile source, boolean contentHashed) {
+        Path path = Paths.get(source.getResolvedPath());
+        if (!Files.isDirectory(path)) {
+            throw new IllegalArgumentException("Seed data must be a directory: " + path);
+        }
+        this.source = source;
+        this.contentHashed = contentHashed;
+    }
+
+    MountableFile getSource() {
+        return source;
+    }
+
+    /**
+     * Hash of every file's relative path and size, plus either its
+     * modification time or, when content hashed, its bytes. Metadata is cheap
+     * enough to compute on each start and stable while a host tree is
+     * unchanged.
+     */
+    String fingerprint() {
+        Path root = Paths.get(source.getResolvedPath());
+        try (Stream<Path> files = Files.walk(root)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            files.filter(Files::isRegularFile).sorted().forEach(file -> {
+                try {
+                    String entry = root.relativize(file).toString().replace('\\', '/') + "\0" + Files.size(file) + "\0";
+                    digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                    if (contentHashed) {
+                        updateWithContent(digest, file);
+                    } else {
+                        digest.update(String.valueOf(Files.getLastModifiedTime(file).toMillis()).getBytes(StandardCharsets.UTF_8));
+                    }
+                    digest.update((byte) '\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return CephS3RequestSigner.hex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read seed data " + root, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    private static void updateWithContent(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Script that splits the copied tree into shards and uploads them with
+     * concurrent {@code s3cmd sync} runs over loopback. s3cmd switches to
+     * multipart uploads for large files on its own. Prints the file count and
+     * the total size in bytes, one per line.
+     */
+    static String ingestScript(int rgwPort, String accessKey, String secretKey, String bucket) {
+        String s3cmd = "s3cmd -c /dev/null --no-ssl --host=localhost:" + rgwPort +
+                " --host-bucket=localhost:" + rgwPort +
+                " --access_key=" + CephContainer.shellQuote(accessKey) +
+                " --secret_key=" + CephContainer.shellQuote(secretKey);
+        return "set -e\n" +
+                "cd " + CONTAINER_PATH + "\n" +
+                "list=$(mktemp -d)\n" +
+                "find . -type f | sed 's|^\\./||' > \"$list/files\"\n" +
+                "split -n l/" + UPLOAD_SHARDS + " \"$list/files\" \"$list/shard.\"\n" +
+                "pids=\"\"\n" +
+                "for shard in \"$list\"/shard.*; do\n" +
+                // an empty list would make sync upload the whole tree
+                "  [ -s \"$shard\" ] || continue\n" +
+                "  " + s3cmd + " --no-check-md5 --files-from=\"$shard\" sync " + CONTAINER_PATH + "/ " +
+                CephContainer.shellQuote("s3://" + bucket + "/") + " > /dev/null &\n" +
+                "  pids=\"$pids $!\"\n" +
+                "done\n" +
+                "for pid in $pids; do wait \"$pid\"; done\n" +
+                "wc -l < \"$list/files\"\n" +
+                "find . -type f -printf '%s\\n' | awk '{ total += $1 } END { printf \"%.0f\\n\", total }'\n" +
+                "rm -rf \"$list\"\n";
+    }
+}
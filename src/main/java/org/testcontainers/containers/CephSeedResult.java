@@ -0,0 +1,38 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+
+/**
+ * Outcome of loading the seed data, see {@link CephContainer#getSeedResult()}.
+ */
+public final class CephSeedResult {
+    private final Duration duration;
+
+    private final long objectsSeeded;
+
+    private final long bytesSeeded;
+
+    CephSeedResult(Duration duration, long objectsSeeded, long bytesSeeded) {
+        this.duration = duration;
+        this.objectsSeeded = objectsSeeded;
+        this.bytesSeeded = bytesSeeded;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public long getObjectsSeeded() {
+        return objectsSeeded;
+    }
+
+    public long getBytesSeeded() {
+        return bytesSeeded;
+    }
+
+    @Override
+    public String toString() {
+        return "CephSeedResult{duration=" + duration.toMillis() + "ms, objectsSeeded=" + objectsSeeded +
+                ", bytesSeeded=" + bytesSeeded + "}";
+    }
+}
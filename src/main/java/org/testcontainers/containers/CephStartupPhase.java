@@ -0,0 +1,38 @@
+package org.testcontainers.containers;
+
+/**
+ * Phases of {@link CephContainer#start()}, in the order they happen.
+ * <br>
+ * The host-side phases are timed around the Testcontainers lifecycle hooks.
+ * The daemon phases are derived from the demo script's log output: each one
+ * starts at the first log line that mentions it and ends where the next
+ * observed phase starts, or when the container is reported ready.
+ */
+public enum CephStartupPhase {
+    /** Resolving the image, including a pull when it is not available locally. */
+    IMAGE_PULL,
+    /** Creating the container. */
+    CONTAINER_CREATE,
+    /** Starting the created container until it is running. */
+    CONTAINER_START,
+    /** Monitor bootstrap until the demo script moves on to the next daemon. */
+    MON,
+    /** Manager daemon bootstrap. */
+    MGR,
+    /** OSD creation and start. */
+    OSD,
+    /** RADOS gateway start. */
+    RGW,
+    /** Creation of the demo RGW user. */
+    DEMO_USER,
+    /** Creation of the demo bucket until the next phase starts, or the container is reported ready. */
+    DEMO_BUCKET,
+    /** Starting the additional RGW daemons, only when more than one RGW instance is configured. */
+    RGW_INSTANCES,
+    /** Creating the users and buckets declared on the container. */
+    PROVISIONING,
+    /** Loading seed data into the bucket, only when seed data is configured. */
+    SEED_DATA,
+    /** Health check and reset of a reused container, only when attaching to one. */
+    REUSE
+}
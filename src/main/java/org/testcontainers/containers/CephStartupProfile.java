@@ -0,0 +1,94 @@
+package org.testcontainers.containers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where the time of a {@link CephContainer#start()} went, phase by phase.
+ * <br>
+ * Phases that were not observed, for example {@link CephStartupPhase#MGR}
+ * when no manager is started, are absent from {@link #getPhases()}.
+ */
+public final class CephStartupProfile {
+    private final Instant startedAt;
+
+    private final Duration totalDuration;
+
+    private final List<PhaseTiming> phases;
+
+    CephStartupProfile(Instant startedAt, Duration totalDuration, List<PhaseTiming> phases) {
+        this.startedAt = startedAt;
+        this.totalDuration = totalDuration;
+        this.phases = Collections.unmodifiableList(phases);
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getTotalDuration() {
+        return totalDuration;
+    }
+
+    public List<PhaseTiming> getPhases() {
+        return phases;
+    }
+
+    public Optional<PhaseTiming> getPhase(CephStartupPhase phase) {
+        return phases.stream().filter(timing -> timing.getPhase() == phase).findFirst();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("CephStartupProfile{total=").append(totalDuration.toMillis()).append("ms");
+        phases.forEach(timing -> builder.append(", ").append(timing));
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Start and duration of a single phase.
+     */
+    public static final class PhaseTiming {
+        private final CephStartupPhase phase;
+
+        private final Instant startedAt;
+
+        private final Duration offset;
+
+        private final Duration duration;
+
+        PhaseTiming(CephStartupPhase phase, Instant startedAt, Duration offset, Duration duration) {
+            this.phase = phase;
+            this.startedAt = startedAt;
+            this.offset = offset;
+            this.duration = duration;
+        }
+
+        public CephStartupPhase getPhase() {
+            return phase;
+        }
+
+        public Instant getStartedAt() {
+            return startedAt;
+        }
+
+        /**
+         * @return time between the start of {@link CephContainer#start()} and the start of this phase
+         */
+        public Duration getOffset() {
+            return offset;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            return phase + "=" + duration.toMillis() + "ms@+" + offset.toMillis() + "ms";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Collects phase start times during a single start of a {@link CephContainer}.
+ * Fed by the lifecycle hooks and, as a log consumer, by the container output.
+ */
+final class CephStartupProfiler implements Consumer<OutputFrame> {
+    private static final Map<CephStartupPhase, Pattern> LOG_MARKERS = new EnumMap<>(CephStartupPhase.class);
+
+    static {
+        LOG_MARKERS.put(CephStartupPhase.MGR, Pattern.compile("ceph-mgr"));
+        LOG_MARKERS.put(CephStartupPhase.OSD, Pattern.compile("ceph-osd|ceph-volume"));
+        LOG_MARKERS.put(CephStartupPhase.RGW, Pattern.compile("radosgw(?!-admin)"));
+        LOG_MARKERS.put(CephStartupPhase.DEMO_USER, Pattern.compile("radosgw-admin|\"user_id\""));
+        LOG_MARKERS.put(CephStartupPhase.DEMO_BUCKET, Pattern.compile("s3cmd|Bucket 's3://"));
+    }
+
+    private final Clock clock;
+
+    private final Instant startedAt;
+
+    private final Map<CephStartupPhase, Instant> marks = new EnumMap<>(CephStartupPhase.class);
+
+    private CephStartupPhase lastMarked = CephStartupPhase.IMAGE_PULL;
+
+    private volatile boolean finished;
+
+    CephStartupProfiler() {
+        this(Clock.systemUTC());
+    }
+
+    CephStartupProfiler(Clock clock) {
+        this.clock = clock;
+        this.startedAt = clock.instant();
+        this.marks.put(CephStartupPhase.IMAGE_PULL, this.startedAt);
+    }
+
+    /**
+     * Records the start of a phase. Marks are only accepted in phase order, so
+     * a late log line mentioning an earlier daemon cannot rewind the profile.
+     */
+    synchronized void mark(CephStartupPhase phase) {
+        if (lastMarked.ordinal() < phase.ordinal()) {
+            marks.put(phase, clock.instant());
+            lastMarked = phase;
+        }
+    }
+
+    @Override
+    public void accept(OutputFrame frame) {
+        String line = frame.getUtf8String();
+        if (finished || line == null || line.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Map.Entry<CephStartupPhase, Pattern> marker : LOG_MARKERS.entrySet()) {
+                if (marker.getKey().ordinal() > lastMarked.ordinal() && marker.getValue().matcher(line).find()) {
+                    mark(marker.getKey());
+                    return;
+                }
+            }
+        }
+    }
+
+    synchronized CephStartupProfile finish() {
+        finished = true;
+        Instant finishedAt = clock.instant();
+        List<Map.Entry<CephStartupPhase, Instant>> entries = new ArrayList<>(marks.entrySet());
+        List<CephStartupProfile.PhaseTiming> phases = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Instant phaseStart = entries.get(i).getValue();
+            Instant phaseEnd = i + 1 < entries.size() ? entries.get(i + 1).getValue() : finishedAt;
+            phases.add(new CephStartupProfile.PhaseTiming(
+                    entries.get(i).getKey(),
+                    phaseStart,
+                    Duration.between(startedAt, phaseStart),
+                    Duration.between(phaseStart, phaseEnd)
+            ));
+        }
+        return new CephStartupProfile(startedAt, Duration.between(startedAt, finishedAt), phases);
+    }
+}
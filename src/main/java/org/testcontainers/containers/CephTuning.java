@@ -0,0 +1,135 @@
+package org.testcontainers.containers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed Ceph settings that shape RGW and OSD throughput, applied with
+ * {@link CephContainer#withTuning(CephTuning)}.
+ * <br>
+ * All settings end up in one config overlay that is in place before the
+ * daemons start. Several tunings can be applied to the same container; a later
+ * value for the same option wins.
+ * <pre>{@code
+ * new CephContainer().withTuning(CephTuning.builder()
+ *         .rgwThreadPoolSize(256)
+ *         .rgwMaxConcurrentRequests(2048)
+ *         .debugLevel(0)
+ *         .osdMemoryTarget(2L * 1024 * 1024 * 1024)
+ *         .build());
+ * }</pre>
+ */
+public final class CephTuning {
+    private static final String[] DEBUG_SUBSYSTEMS = {
+            "debug_rgw", "debug_osd", "debug_ms", "debug_bluestore", "debug_bluefs", "debug_rocksdb", "debug_objecter"
+    };
+
+    private final Map<String, String> options;
+
+    private CephTuning(Map<String, String> options) {
+        this.options = Collections.unmodifiableMap(new LinkedHashMap<>(options));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the Ceph options of this tuning, keyed by their underscore name
+     */
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    public static final class Builder {
+        private final Map<String, String> options = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param frontendType RGW frontend, e.g. {@code beast}; it keeps listening on port 8080
+         */
+        public Builder rgwFrontend(String frontendType) {
+            return option("rgw_frontends", frontendType + " port=8080");
+        }
+
+        /**
+         * @param threads RGW request handling threads ({@code rgw_thread_pool_size})
+         */
+        public Builder rgwThreadPoolSize(int threads) {
+            return option("rgw_thread_pool_size", String.valueOf(threads));
+        }
+
+        /**
+         * @param requests requests the RGW processes at once before throttling
+         *                 ({@code rgw_max_concurrent_requests})
+         */
+        public Builder rgwMaxConcurrentRequests(int requests) {
+            return option("rgw_max_concurrent_requests", String.valueOf(requests));
+        }
+
+        /**
+         * Sets log and in-memory debug level of the RGW, OSD, messenger,
+         * BlueStore and objecter subsystems. {@code 0} gives the least logging
+         * overhead.
+         */
+        public Builder debugLevel(int level) {
+            for (String subsystem : DEBUG_SUBSYSTEMS) {
+                option(subsystem, level + "/" + level);
+            }
+            return this;
+        }
+
+        /**
+         * @param subsystem Ceph subsystem, e.g. {@code rgw} or {@code ms}
+         */
+        public Builder debugLevel(String subsystem, int level) {
+            return option("debug_" + subsystem, level + "/" + level);
+        }
+
+        /**
+         * @param bytes memory the OSD tries to stay within ({@code osd_memory_target})
+         */
+        public Builder osdMemoryTarget(long bytes) {
+            return option("osd_memory_target", String.valueOf(bytes));
+        }
+
+        /**
+         * Fixes the BlueStore cache size and turns off its autotuning against
+         * {@code osd_memory_target}.
+         */
+        public Builder bluestoreCacheSize(long bytes) {
+            option("bluestore_cache_autotune", "false");
+            return option("bluestore_cache_size", String.valueOf(bytes));
+        }
+
+        /**
+         * @param ops operations a RADOS client, such as the RGW, keeps in flight
+         *            ({@code objecter_inflight_ops})
+         */
+        public Builder objecterInflightOps(int ops) {
+            return option("objecter_inflight_ops", String.valueOf(ops));
+        }
+
+        /**
+         * @param bytes payload a RADOS client keeps in flight ({@code objecter_inflight_op_bytes})
+         */
+        public Builder objecterInflightOpBytes(long bytes) {
+            return option("objecter_inflight_op_bytes", String.valueOf(bytes));
+        }
+
+        /**
+         * Any other Ceph option. Names may use spaces or underscores.
+         */
+        public Builder option(String name, String value) {
+            options.put(name.trim().replace(' ', '_'), value);
+            return this;
+        }
+
+        public CephTuning build() {
+            return new CephTuning(options);
+        }
+    }
+}
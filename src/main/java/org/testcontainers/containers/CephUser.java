@@ -0,0 +1,174 @@
+package org.testcontainers.containers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An extra RGW user created while the container starts, see
+ * {@link CephContainer#withUser(CephUser)}.
+ * <pre>{@code
+ * CephUser.builder("tenant-a", "TENANTAKEY", "tenant-a-secret")
+ *         .maxBuckets(10)
+ *         .quota(10_000, 100L * 1024 * 1024)
+ *         .caps("users=read")
+ *         .build();
+ * }</pre>
+ */
+public final class CephUser {
+    private final String uid;
+
+    private final String displayName;
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    private final Integer maxBuckets;
+
+    private final long quotaMaxObjects;
+
+    private final long quotaMaxSizeBytes;
+
+    private final List<String> caps;
+
+    private CephUser(Builder builder) {
+        this.uid = builder.uid;
+        this.displayName = builder.displayName != null ? builder.displayName : builder.uid;
+        this.accessKey = builder.accessKey;
+        this.secretKey = builder.secretKey;
+        this.maxBuckets = builder.maxBuckets;
+        this.quotaMaxObjects = builder.quotaMaxObjects;
+        this.quotaMaxSizeBytes = builder.quotaMaxSizeBytes;
+        this.caps = Collections.unmodifiableList(new ArrayList<>(builder.caps));
+    }
+
+    public static Builder builder(String uid, String accessKey, String secretKey) {
+        return new Builder(uid, accessKey, secretKey);
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getAccessKey() {
+        return accessKey;
+    }
+
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    /**
+     * @return bucket limit of the user, or null for the RGW default
+     */
+    public Integer getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    /**
+     * @return object count quota, or -1 when unlimited
+     */
+    public long getQuotaMaxObjects() {
+        return quotaMaxObjects;
+    }
+
+    /**
+     * @return size quota in bytes, or -1 when unlimited
+     */
+    public long getQuotaMaxSizeBytes() {
+        return quotaMaxSizeBytes;
+    }
+
+    public List<String> getCaps() {
+        return caps;
+    }
+
+    /**
+     * @return script fragment creating and configuring this user; does nothing
+     * for parts that already exist
+     */
+    String provisioningScript() {
+        String uidArg = " --uid=" + CephContainer.shellQuote(uid);
+        StringBuilder script = new StringBuilder()
+                .append("radosgw-admin user info").append(uidArg).append(" > /dev/null 2>&1 || ")
+                .append("radosgw-admin user create").append(uidArg)
+                .append(" --display-name=").append(CephContainer.shellQuote(displayName))
+                .append(" --access-key=").append(CephContainer.shellQuote(accessKey))
+                .append(" --secret=").append(CephContainer.shellQuote(secretKey))
+                .append(maxBuckets != null ? " --max-buckets=" + maxBuckets : "")
+                .append(" > /dev/null\n");
+        if (quotaMaxObjects >= 0 || quotaMaxSizeBytes >= 0) {
+            script.append("radosgw-admin quota set --quota-scope=user").append(uidArg)
+                    .append(" --max-objects=").append(quotaMaxObjects)
+                    .append(" --max-size=").append(quotaMaxSizeBytes)
+                    .append(" > /dev/null\n")
+                    .append("radosgw-admin quota enable --quota-scope=user").append(uidArg).append(" > /dev/null\n");
+        }
+        if (!caps.isEmpty()) {
+            script.append("radosgw-admin caps add").append(uidArg)
+                    .append(" --caps=").append(CephContainer.shellQuote(String.join(";", caps)))
+                    .append(" > /dev/null\n");
+        }
+        return script.toString();
+    }
+
+    public static final class Builder {
+        private final String uid;
+
+        private final String accessKey;
+
+        private final String secretKey;
+
+        private String displayName;
+
+        private Integer maxBuckets;
+
+        private long quotaMaxObjects = -1;
+
+        private long quotaMaxSizeBytes = -1;
+
+        private final List<String> caps = new ArrayList<>();
+
+        private Builder(String uid, String accessKey, String secretKey) {
+            this.uid = uid;
+            this.accessKey = accessKey;
+            this.secretKey = secretKey;
+        }
+
+        public Builder displayName(String displayName) {
+            this.displayName = displayName;
+            return this;
+        }
+
+        public Builder maxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+            return this;
+        }
+
+        /**
+         * Enables a user quota. Pass -1 to leave one of the limits unlimited.
+         */
+        public Builder quota(long maxObjects, long maxSizeBytes) {
+            this.quotaMaxObjects = maxObjects;
+            this.quotaMaxSizeBytes = maxSizeBytes;
+            return this;
+        }
+
+        /**
+         * @param cap admin capability, e.g. {@code users=read} or {@code buckets=*}
+         */
+        public Builder caps(String cap) {
+            this.caps.add(cap);
+            return this;
+        }
+
+        public CephUser build() {
+            return new CephUser(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the admin session protocol against a local bash instead of a container.
+ */
+class CephAdminTest {
+    private Process bash;
+
+    private CephAdmin admin;
+
+    @BeforeEach
+    void startSession() throws IOException {
+        bash = new ProcessBuilder("bash").start();
+        admin = new CephAdmin(Duration.ofSeconds(2));
+        admin.attach(bash::destroy);
+        admin.attachKill(bash::destroyForcibly);
+        Thread stdinPump = new Thread(() -> pump(admin.getStdin(), bash.getOutputStream()));
+        Thread stdoutPump = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            try (InputStream stdout = bash.getInputStream()) {
+                int read;
+                while ((read = stdout.read(buffer)) >= 0) {
+                    admin.receive(Arrays.copyOf(buffer, read));
+                }
+            } catch (IOException e) {
+                // process gone
+            }
+            admin.terminate(new IllegalStateException("Ceph admin session ended"));
+        });
+        stdinPump.setDaemon(true);
+        stdoutPump.setDaemon(true);
+        stdinPump.start();
+        stdoutPump.start();
+    }
+
+    @AfterEach
+    void stopSession() {
+        admin.close();
+    }
+
+    @Test
+    void testCommandResults() {
+        CephAdminResult result = admin.exec("echo out; echo err >&2; exit 3");
+
+        assertThat(result.getExitCode()).isEqualTo(3);
+        assertThat(result.getStdout()).isEqualTo("out\n");
+        assertThat(result.getStderr()).isEqualTo("err\n");
+        assertThatThrownBy(result::checkSuccess).isInstanceOf(IllegalStateException.class);
+
+        // set -e and exit in one command must not end the session
+        assertThat(admin.exec("set -e; false").getExitCode()).isEqualTo(1);
+        assertThat(admin.exec("printf 'no newline'").getStdout()).isEqualTo("no newline");
+        assertThat(admin.isOpen()).isTrue();
+    }
+
+    @Test
+    void testBatchKeepsOrder() {
+        List<CephAdminResult> results = admin.batch(Arrays.asList(
+                "sleep 0.2; echo '{\"id\": 1}'",
+                "echo '[1, 2]'",
+                "true"
+        ));
+
+        assertThat(results).extracting(CephAdminResult::getJson).containsExactly(
+                Map.of("id", 1L),
+                List.of(1L, 2L),
+                null
+        );
+    }
+
+    @Test
+    void testLargeOutput() {
+        // Within the 2 s command timeout, which rescanning the whole buffer
+        // on every frame could not meet for this much output
+        List<CephAdminResult> results = admin.batch(Arrays.asList(
+                "head -c 20000000 /dev/zero | tr '\\0' a",
+                "echo after"
+        ));
+
+        assertThat(results.get(0).getStdout()).hasSize(20_000_000).startsWith("aaa").endsWith("aaa");
+        assertThat(results.get(1).getStdout()).isEqualTo("after\n");
+    }
+
+    @Test
+    void testQuotedArguments() {
+        String command = CephAdmin.command("printf", "%s|", "it's", "a b", "$HOME");
+
+        assertThat(admin.exec(command).getStdout()).isEqualTo("it's|a b|$HOME|");
+    }
+
+    @Test
+    void testHungCommandTimesOut() {
+        CompletableFuture<CephAdminResult> queued = admin.submit("echo queued");
+        long started = System.nanoTime();
+
+        assertThatThrownBy(() -> admin.batch(Arrays.asList("sleep 60", "echo behind")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("did not finish within PT2S")
+                .hasMessageContaining("sleep 60");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(30));
+        assertThat(queued.join().getStdout()).isEqualTo("queued\n");
+        assertThat(admin.isOpen()).isFalse();
+        assertThatThrownBy(() -> admin.exec("true")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testClosedSessionRejectsCommands() {
+        admin.close();
+
+        assertThat(admin.isOpen()).isFalse();
+        assertThatThrownBy(() -> admin.exec("true")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void pump(InputStream in, OutputStream out) {
+        byte[] buffer = new byte[8192];
+        try (out) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // process gone
+        }
+    }
+}
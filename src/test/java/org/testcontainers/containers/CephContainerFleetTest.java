@@ -0,0 +1,60 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CephContainerFleetTest {
+
+    @Test
+    void testParallelStart() {
+        CephContainerFleet fleet = new CephContainerFleet(2).withParallelism(2);
+        try {
+            fleet.start();
+
+            assertThat(fleet.getContainers()).allMatch(CephContainer::isRunning);
+            assertThat(fleet.getStartupDurations()).hasSize(2).doesNotContainNull();
+            assertThat(fleet.getTotalStartupDuration())
+                    .isGreaterThanOrEqualTo(fleet.getImagePreparationDuration());
+        } finally {
+            fleet.stop();
+        }
+    }
+
+    @Test
+    void testFailureStopsWholeFleet() {
+        AtomicInteger created = new AtomicInteger();
+        CephContainerFleet fleet = new CephContainerFleet(2, () -> {
+            CephContainer container = new CephContainer();
+            if (created.getAndIncrement() == 1) {
+                container.waitingFor(Wait.forLogMessage("never logged", 1).withStartupTimeout(Duration.ofSeconds(5)));
+            }
+            return container;
+        });
+
+        assertThatThrownBy(fleet::start).isInstanceOf(IllegalStateException.class);
+        assertThat(fleet.getContainers()).noneMatch(CephContainer::isRunning);
+    }
+
+    @Test
+    void testInstancesGetDistinctCredentials() {
+        CephContainerFleet fleet = new CephContainerFleet(3);
+
+        assertThat(fleet.getContainers()).extracting(CephContainer::getCephAccessKey).doesNotHaveDuplicates();
+        assertThat(fleet.getContainers()).extracting(CephContainer::getCephSecretKey).doesNotHaveDuplicates();
+        assertThat(fleet.getContainers()).extracting(CephContainer::getCephBucket)
+                .containsExactly("fleet-0", "fleet-1", "fleet-2");
+    }
+
+    @Test
+    void testSizeAndParallelismMustBePositive() {
+        assertThatThrownBy(() -> new CephContainerFleet(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CephContainerFleet(1).withParallelism(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CephContainerPoolTest {
+
+    @Test
+    void testConcurrentLeasesAreIsolated() throws Exception {
+        try (CephContainerPool pool = new CephContainerPool(1, CephContainer::new)) {
+            List<CephBucketLease> leases = IntStream.range(0, 4)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(pool::lease))
+                    .collect(Collectors.toList())
+                    .stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+
+            assertThat(leases).extracting(CephBucketLease::getCephBucket).doesNotHaveDuplicates();
+            assertThat(leases).extracting(CephBucketLease::getCephAccessKey).doesNotHaveDuplicates();
+
+            CephBucketLease first = leases.get(0);
+            CephBucketLease second = leases.get(1);
+            S3Client firstClient = getS3client(first);
+            firstClient.putObject(b -> b.bucket(first.getCephBucket()).key("key"), RequestBody.fromString("value"));
+            assertThat(firstClient.listObjectsV2(b -> b.bucket(first.getCephBucket())).contents()).hasSize(1);
+
+            assertThatThrownBy(() -> getS3client(second).listObjectsV2(b -> b.bucket(first.getCephBucket())))
+                    .isInstanceOf(S3Exception.class);
+
+            leases.forEach(CephBucketLease::close);
+        }
+    }
+
+    @Test
+    void testPoolSizeMustBePositive() {
+        assertThatThrownBy(() -> new CephContainerPool(0, CephContainer::new))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFailedReleaseIsReportedOnClose() {
+        CephContainerPool pool = new CephContainerPool(1, CephContainer::new);
+        // The container was never started, so purging the lease user fails
+        new CephBucketLease(pool, pool.getContainers().get(0), "lease-1-test", "key", "secret", "lease-1-test").close();
+
+        assertThatThrownBy(pool::close)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1 lease release(s)")
+                .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                        .extracting(Throwable::getMessage).asString().contains("lease-1-test"));
+        assertThat(pool.getFailedReleaseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testReleaseAfterCloseFails() {
+        CephContainerPool pool = new CephContainerPool(1, CephContainer::new);
+        CephBucketLease lease = new CephBucketLease(pool, pool.getContainers().get(0), "lease-1-test", "key", "secret", "lease-1-test");
+        pool.close();
+
+        assertThatThrownBy(lease::close)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("lease-1-test");
+    }
+
+    private static S3Client getS3client(CephBucketLease lease) throws URISyntaxException {
+        return S3Client.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(lease.getCephAccessKey(), lease.getCephSecretKey())
+                ))
+                .endpointOverride(lease.getCephUrl())
+                .region(Region.US_EAST_1)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .build())
+                .build();
+    }
+}
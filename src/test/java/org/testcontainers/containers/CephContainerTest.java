@@ -1,18 +1,26 @@
 package org.testcontainers.containers;
 
+import com.github.dockerjava.api.exception.NotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.wait.strategy.HostPortWaitStrategy;
 import org.testcontainers.containers.wait.strategy.LogMessageWaitStrategy;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+import org.testcontainers.utility.TestcontainersConfiguration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
 import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -21,24 +29,36 @@ import software.amazon.awssdk.services.s3.model.HeadBucketResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class CephContainerTest {
 
@@ -57,7 +77,10 @@ class CephContainerTest {
             assertThat(container.getCephAccessKey()).isEqualTo("demo");
             assertThat(container.getCephSecretKey()).isSameAs("b36361c4-1589-42f7-a369-d9dafb926d55");
             assertThat(container.getCephBucket()).isEqualTo("demo");
-            assertThat(container.getWaitStrategy()).isInstanceOf(LogMessageWaitStrategy.class);
+            assertThat(container.getWaitStrategy()).isInstanceOf(CephS3WaitStrategy.class);
+            assertThat(container.getReadinessWaitDuration()).isPositive();
+            assertThat(container.getStartupProfile().getPhase(CephStartupPhase.CONTAINER_START)).isPresent();
+            assertThat(container.getStartupProfile().getTotalDuration()).isPositive();
 
             S3Client s3client = getS3client(container);
 
@@ -111,7 +134,7 @@ class CephContainerTest {
                             "rgw verify ssl = false\n" +
                             "rgw crypt require ssl = false"
             );
-            assertThat(container.getWaitStrategy()).isInstanceOf(LogMessageWaitStrategy.class);
+            assertThat(container.getWaitStrategy()).isInstanceOf(CephS3WaitStrategy.class);
             assertThat(container.getCephAccessKey()).isEqualTo("testuser123");
             assertThat(container.getCephSecretKey()).isEqualTo("testpassword123");
             assertThat(container.getCephBucket()).isEqualTo("testbucket123");
@@ -143,7 +166,7 @@ class CephContainerTest {
                         .withCommand("demo")
         ) {
             container.start();
-            assertThat(container.getWaitStrategy()).isInstanceOf(LogMessageWaitStrategy.class);
+            assertThat(container.getWaitStrategy()).isInstanceOf(CephS3WaitStrategy.class);
             assertThat(container.getCephAccessKey()).isEqualTo("testuser123");
             assertThat(container.getCephSecretKey()).isEqualTo("testpassword123");
             assertThat(container.getCephBucket()).isEqualTo("testbucket123");
@@ -200,6 +223,606 @@ class CephContainerTest {
             container.configure();
             assertThat(container.getRgwName()).isEqualTo("ceph-host");
             assertThat(container.getEnvMap()).containsEntry("RGW_NAME", "ceph-host");
+            // The host cannot reach S3 through the mapped port under another name
+            assertThat(container.getWaitStrategy()).isInstanceOf(LogMessageWaitStrategy.class);
+        }
+    }
+
+    /**
+     * Tuning composes with withSslDisabled() into a single demo script patch.
+     */
+    @Test
+    void testTuning() throws Exception {
+        try (
+                CephContainer container = new CephContainer()
+                        .withSslDisabled()
+                        .withTuning(CephTuning.builder()
+                                .rgwThreadPoolSize(64)
+                                .debugLevel(0)
+                                .osdMemoryTarget(1024L * 1024 * 1024)
+                                .build())
+        ) {
+            container.start();
+            assertThat(getDemoScriptFromContainer(container)).contains(
+                    "rgw frontends = ${RGW_FRONTEND}\n" +
+                            "rgw verify ssl = false\n" +
+                            "rgw crypt require ssl = false\n" +
+                            "rgw thread pool size = 64"
+            );
+            assertThat(container.execInContainer("bash", "-c", "echo $CEPH_ARGS").getStdout())
+                    .contains("--osd_memory_target=1073741824");
+            S3Client s3client = getS3client(container);
+            s3client.headBucket(HeadBucketRequest.builder().bucket("demo").build());
+        }
+    }
+
+    @Test
+    void testTuningConfiguration() {
+        try (
+                CephContainer container = new CephContainer()
+                        .withTuning(CephTuning.builder().rgwThreadPoolSize(64).objecterInflightOps(2048).build())
+                        .withTuning(CephTuning.builder().rgwThreadPoolSize(128).build())
+        ) {
+            container.configure();
+            assertThat(container.getCephConfOverlay())
+                    .isEqualTo("objecter inflight ops = 2048\nrgw thread pool size = 128");
+            assertThat(container.getEnvMap()).containsEntry("CEPH_ARGS", "--objecter_inflight_ops=2048");
+        }
+        assertThatThrownBy(() -> new CephContainer().withTuning(CephTuning.builder().option("osd_foo", "a b").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * The S3-only profile still serves the demo bucket without the extra daemons.
+     */
+    @Test
+    void testS3OnlyProfile() throws Exception {
+        try (CephContainer container = new CephContainer().withS3OnlyProfile()) {
+            container.start();
+            assertThat(container.execInContainer("pgrep", "-x", "ceph-mds").getExitCode()).isNotZero();
+            assertThat(container.execInContainer("pgrep", "-x", "radosgw").getExitCode()).isZero();
+            S3Client s3client = getS3client(container);
+            s3client.headBucket(HeadBucketRequest.builder().bucket("demo").build());
+        }
+    }
+
+    @Test
+    void testS3OnlyProfileConfiguration() {
+        try (CephContainer container = new CephContainer().withS3OnlyProfile()) {
+            container.configure();
+            assertThat(container.getEnvMap()).containsEntry("DEMO_DAEMONS", "osd,rgw");
+            assertThat(container.getEnvMap().get("CEPH_ARGS")).contains("--osd_memory_target=");
+        }
+    }
+
+    /**
+     * RAM storage mounts the Ceph data directory as tmpfs and sizes the OSD to fit.
+     */
+    @Test
+    void testRamStorage() throws Exception {
+        try (CephContainer container = new CephContainer().withRamStorage(1024)) {
+            container.start();
+            assertThat(container.execInContainer("stat", "-f", "-c", "%T", "/var/lib/ceph").getStdout().trim())
+                    .isEqualTo("tmpfs");
+            S3Client s3client = getS3client(container);
+            s3client.putObject(b -> b.bucket("demo").key("in-ram"), RequestBody.fromString("value"));
+            assertThat(s3client.getObjectAsBytes(b -> b.bucket("demo").key("in-ram")).asUtf8String())
+                    .isEqualTo("value");
+        }
+    }
+
+    @Test
+    void testRamStorageConfiguration() {
+        try (CephContainer container = new CephContainer().withRamStorage(1024)) {
+            container.configure();
+            assertThat(container.getTmpFsMapping()).containsExactly(entry("/var/lib/ceph", "rw,size=1024m"));
+            assertThat(container.getEnvMap().get("CEPH_ARGS")).contains("--bluestore_block_size=805306368");
+        }
+        assertThatThrownBy(() -> new CephContainer().withRamStorage(128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * A second start with the same configuration attaches to the running
+     * container and finds it cleaned up.
+     */
+    @Test
+    void testReuse() throws Exception {
+        assumeTrue(TestcontainersConfiguration.getInstance().environmentSupportsReuse());
+        CephContainer first = new CephContainer().withReuse(true);
+        first.start();
+        try {
+            assertThat(first.isReused()).isFalse();
+            CephS3Clients.forContainer(first).getS3Client()
+                    .putObject(b -> b.bucket("demo").key("leftover"), RequestBody.fromString("value"));
+            try (CephContainer second = new CephContainer().withReuse(true)) {
+                second.start();
+                assertThat(second.isReused()).isTrue();
+                assertThat(second.getContainerId()).isEqualTo(first.getContainerId());
+                assertThat(CephS3Clients.forContainer(second).getS3Client().listObjectsV2(b -> b.bucket("demo")).contents())
+                        .isEmpty();
+                assertThat(second.getStartupProfile().getPhase(CephStartupPhase.REUSE)).isPresent();
+            }
+        } finally {
+            first.stop();
+        }
+    }
+
+    @Test
+    void testReuseConfiguration() {
+        try (
+                CephContainer plain = new CephContainer();
+                CephContainer reusable = new CephContainer().withReuse(true);
+                CephContainer provisioned = new CephContainer()
+                        .withReuse(true)
+                        .withUser(CephUser.builder("tenant-a", "TENANTAKEY", "tenant-a-secret").build())
+        ) {
+            plain.configure();
+            reusable.configure();
+            provisioned.configure();
+            assertThat(plain.getLabels()).doesNotContainKey(CephContainer.CONFIGURATION_HASH_LABEL);
+            assertThat(reusable.getLabels())
+                    .containsEntry(CephContainer.CONFIGURATION_HASH_LABEL, reusable.getConfigurationHash());
+            assertThat(provisioned.getLabels().get(CephContainer.CONFIGURATION_HASH_LABEL))
+                    .isNotEqualTo(reusable.getLabels().get(CephContainer.CONFIGURATION_HASH_LABEL));
+        }
+    }
+
+    /**
+     * Additional RGW instances serve the same buckets on their own ports.
+     */
+    @Test
+    void testRgwInstances() throws Exception {
+        try (CephContainer container = new CephContainer().withRgwInstances(3)) {
+            container.start();
+            List<URI> urls = container.getCephUrls();
+            assertThat(urls).hasSize(3).doesNotHaveDuplicates().startsWith(container.getCephUrl());
+            assertThat(container.nextCephUrl()).isEqualTo(urls.get(0));
+            assertThat(container.nextCephUrl()).isEqualTo(urls.get(1));
+            assertThat(container.nextCephUrl()).isEqualTo(urls.get(2));
+            assertThat(container.nextCephUrl()).isEqualTo(urls.get(0));
+
+            CephS3Clients.forContainer(container).getS3Client()
+                    .putObject(b -> b.bucket("demo").key("shared"), RequestBody.fromString("value"));
+            for (URI url : urls) {
+                try (S3Client s3client = getS3client(container, url)) {
+                    assertThat(s3client.getObjectAsBytes(b -> b.bucket("demo").key("shared")).asUtf8String())
+                            .isEqualTo("value");
+                }
+            }
+            assertThat(container.getStartupProfile().getPhase(CephStartupPhase.RGW_INSTANCES)).isPresent();
+        }
+    }
+
+    @Test
+    void testRgwInstancesConfiguration() {
+        try (
+                CephContainer single = new CephContainer();
+                CephContainer scaled = new CephContainer()
+                        .withRgwInstances(3)
+                        .withTuning(CephTuning.builder().rgwFrontend("beast").rgwThreadPoolSize(64).build())
+        ) {
+            single.configure();
+            scaled.configure();
+            assertThat(scaled.getExposedPorts()).contains(8080, 8081, 8082);
+            assertThat(scaled.getConfigurationHash()).isNotEqualTo(single.getConfigurationHash());
+            assertThat(scaled.rgwInstanceScript(2, 8082))
+                    .contains("--name client.rgw.extra2")
+                    .contains("--rgw_frontends='beast port=8082'")
+                    .contains("--rgw_thread_pool_size='64'");
+        }
+        assertThatThrownBy(() -> new CephContainer().withRgwInstances(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Readiness is decided by a signed S3 HEAD unless the caller overrides it.
+     */
+    @Test
+    void testDefaultWaitStrategyProbesS3() {
+        try (CephContainer container = new CephContainer()) {
+            container.configure();
+            assertThat(container.getWaitStrategy()).isInstanceOf(CephS3WaitStrategy.class);
+        }
+        try (CephContainer container = new CephContainer().waitingFor(Wait.forListeningPort())) {
+            container.configure();
+            assertThat(container.getWaitStrategy()).isInstanceOf(HostPortWaitStrategy.class);
+        }
+    }
+
+    /**
+     * startAsync() returns at once; getters wait for the start to finish.
+     */
+    @Test
+    void testStartAsync() throws Exception {
+        try (CephContainer container = new CephContainer()) {
+            CompletableFuture<CephContainer> started = container.startAsync();
+            assertThat(container.startAsync()).isSameAs(started);
+
+            assertThat(container.getCephUrl().getPort()).isEqualTo(container.getMappedPort(8080));
+            assertThat(started).isCompletedWithValue(container);
+            assertThat(getS3client(container).listBuckets().buckets()).hasSize(1);
+        }
+    }
+
+    /**
+     * A failed asynchronous start surfaces from the getters instead of a missing port.
+     */
+    @Test
+    void testStartAsyncFailure() {
+        try (CephContainer container = new CephContainer()) {
+            container.waitingFor(Wait.forLogMessage("never logged", 1).withStartupTimeout(Duration.ofSeconds(5)));
+            container.startAsync();
+
+            assertThatThrownBy(container::getCephPort)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("failed to start asynchronously");
+        }
+    }
+
+    /**
+     * The built-in S3 clients are cached per container and usable right away.
+     */
+    @Test
+    void testS3Clients() {
+        try (CephContainer container = new CephContainer()) {
+            container.start();
+            CephS3Clients clients = CephS3Clients.forContainer(container);
+            assertThat(CephS3Clients.forContainer(container)).isSameAs(clients);
+            S3Client s3client = clients.getS3Client();
+            assertThat(clients.getS3Client()).isSameAs(s3client);
+            assertThat(clients.getS3AsyncClient()).isSameAs(clients.getS3AsyncClient());
+
+            s3client.putObject(b -> b.bucket("demo").key("sync"), RequestBody.fromString("value"));
+            String body = clients.getS3AsyncClient()
+                    .getObject(b -> b.bucket("demo").key("sync"), AsyncResponseTransformer.toBytes())
+                    .join()
+                    .asUtf8String();
+            assertThat(body).isEqualTo("value");
+        }
+    }
+
+    /**
+     * The optional AWS SDK stays out of the container's public API, so
+     * reflection over it works without the SDK on the classpath.
+     */
+    @Test
+    void testPublicApiHasNoSdkTypes() {
+        for (Method method : CephContainer.class.getMethods()) {
+            assertThat(method.getReturnType().getName()).as(method.toString()).doesNotStartWith("software.amazon");
+            for (Class<?> parameter : method.getParameterTypes()) {
+                assertThat(parameter.getName()).as(method.toString()).doesNotStartWith("software.amazon");
+            }
+        }
+    }
+
+    /**
+     * The CRT-based async client only sends checksums the quincy RGW accepts.
+     */
+    @Test
+    void testCrtS3AsyncClient() {
+        try (CephContainer container = new CephContainer().withCrtS3AsyncClient()) {
+            container.start();
+            S3AsyncClient s3client = CephS3Clients.forContainer(container).getS3AsyncClient();
+            s3client.putObject(b -> b.bucket("demo").key("crt"), AsyncRequestBody.fromString("value")).join();
+            String body = s3client
+                    .getObject(b -> b.bucket("demo").key("crt"), AsyncResponseTransformer.toBytes())
+                    .join()
+                    .asUtf8String();
+            assertThat(body).isEqualTo("value");
+        }
+    }
+
+    /**
+     * Perf snapshots count the S3 requests the RGW saw in between.
+     */
+    @Test
+    void testPerfSnapshot() {
+        try (CephContainer container = new CephContainer()) {
+            container.start();
+            S3Client s3client = CephS3Clients.forContainer(container).getS3Client();
+            s3client.putObject(b -> b.bucket("demo").key("counted"), RequestBody.fromString("value"));
+
+            CephPerfSnapshot before = container.getPerfSnapshot();
+            for (int i = 0; i < 3; i++) {
+                s3client.getObjectAsBytes(b -> b.bucket("demo").key("counted"));
+            }
+            CephPerfDiff diff = container.getPerfSnapshot().since(before);
+
+            assertThat(diff.getRgwRequests()).isEqualTo(3);
+            assertThat(diff.getRgwOpCounts()).containsEntry("get", 3L).containsEntry("put", 0L);
+            assertThat(diff.getRgwBytesOut()).isEqualTo(15);
+            assertThat(diff.getOsdReadOps()).isPositive();
+        }
+    }
+
+    /**
+     * Admin commands share one exec session and return parsed JSON.
+     */
+    @Test
+    void testCephAdmin() {
+        try (CephContainer container = new CephContainer()) {
+            container.start();
+            CephAdmin admin = container.getCephAdmin();
+
+            Object user = admin.radosgwAdmin("user", "info", "--uid=demo");
+            assertThat(CephJson.path(user, "display_name")).isEqualTo("Ceph demo user");
+            assertThat(CephJson.path(admin.ceph("health"), "status")).isIn("HEALTH_OK", "HEALTH_WARN");
+
+            List<CephAdminResult> results = admin.batch(Arrays.asList(
+                    "radosgw-admin bucket list",
+                    "radosgw-admin user info --uid=missing"
+            ));
+            assertThat(results.get(0).getJson()).isEqualTo(Collections.singletonList("demo"));
+            assertThat(results.get(1).isSuccess()).isFalse();
+            assertThat(container.getCephAdmin()).isSameAs(admin);
+        }
+    }
+
+    /**
+     * purge() and reset() empty buckets server-side and keep the configured bucket usable.
+     */
+    @Test
+    void testPurgeAndReset() throws Exception {
+        try (CephContainer container = new CephContainer()) {
+            container.start();
+            S3Client s3client = getS3client(container);
+            for (int i = 0; i < 50; i++) {
+                final String key = "object-" + i;
+                s3client.putObject(b -> b.bucket("demo").key(key), RequestBody.fromString("value"));
+            }
+
+            CephPurgeResult purged = container.purge("demo");
+            assertThat(purged.getObjectsRemoved()).isEqualTo(50);
+            assertThat(purged.getDuration()).isPositive();
+            assertThat(s3client.listObjectsV2(b -> b.bucket("demo")).contents()).isEmpty();
+
+            s3client.createBucket(b -> b.bucket("extra"));
+            s3client.putObject(b -> b.bucket("extra").key("key"), RequestBody.fromString("value"));
+            CephPurgeResult reset = container.reset();
+            assertThat(reset.getObjectsRemoved()).isEqualTo(1);
+            assertThat(reset.getBucketsPurged()).isEqualTo(2);
+            assertThat(s3client.listBuckets().buckets())
+                    .extracting(software.amazon.awssdk.services.s3.model.Bucket::name)
+                    .containsExactly("demo");
+        }
+    }
+
+    /**
+     * Second start of the same configuration boots from the committed snapshot.
+     */
+    @Test
+    void testWarmStart() throws Exception {
+        String snapshotImageName;
+        try (CephContainer probe = new CephContainer().withCephBucket("warmstart")) {
+            probe.configure();
+            snapshotImageName = probe.getSnapshotImageName();
+        }
+        // A snapshot left by an earlier run would skip the commit path
+        removeImage(snapshotImageName);
+        try {
+            try (CephContainer container = new CephContainer().withCephBucket("warmstart").withWarmStart()) {
+                container.start();
+                assertThat(container.isStartedFromSnapshot()).isFalse();
+            }
+            try (CephContainer container = new CephContainer().withCephBucket("warmstart").withWarmStart()) {
+                container.start();
+                assertThat(container.isStartedFromSnapshot()).isTrue();
+                assertThat(container.getDockerImageName()).isEqualTo(snapshotImageName);
+                S3Client s3client = getS3client(container);
+                s3client.headBucket(HeadBucketRequest.builder().bucket("warmstart").build());
+            }
+        } finally {
+            removeImage(snapshotImageName);
+        }
+    }
+
+    private static void removeImage(String imageName) {
+        try {
+            DockerClientFactory.instance().client().removeImageCmd(imageName).withForce(true).exec();
+        } catch (NotFoundException e) {
+            // nothing to clean up
+        }
+    }
+
+    /**
+     * The warm-start snapshot key only changes with the bootstrapped configuration.
+     */
+    @Test
+    void testConfigurationHash() {
+        try (
+                CephContainer first = new CephContainer().withCephBucket("hashed");
+                CephContainer second = new CephContainer().withCephBucket("hashed");
+                CephContainer other = new CephContainer().withCephBucket("hashed").withSslDisabled()
+        ) {
+            first.configure();
+            second.configure();
+            other.configure();
+            assertThat(first.getConfigurationHash()).isEqualTo(second.getConfigurationHash());
+            assertThat(first.getConfigurationHash()).isNotEqualTo(other.getConfigurationHash());
+        }
+        try (
+                CephContainer sslFirst = new CephContainer().withSslDisabled().withS3OnlyProfile();
+                CephContainer profileFirst = new CephContainer().withS3OnlyProfile().withSslDisabled()
+        ) {
+            sslFirst.configure();
+            profileFirst.configure();
+            assertThat(sslFirst.getConfigurationHash()).isEqualTo(profileFirst.getConfigurationHash());
+            // Testcontainers' own reuse hash covers the environment
+            assertThat(sslFirst.getEnvMap()).isEqualTo(profileFirst.getEnvMap());
+        }
+        // Only the hash is order independent, the daemons get the options as set
+        CephConfOverlay overlay = new CephConfOverlay();
+        overlay.put("rgw_verify_ssl", "false");
+        overlay.put("rgw_crypt_require_ssl", "false");
+        assertThat(overlay.getEntrypointScript()).contains("rgw verify ssl = false\\\nrgw crypt require ssl = false");
+    }
+
+    /**
+     * Seed data is loaded into the bucket before start() returns, keyed by relative path.
+     */
+    @Test
+    void testSeedData(@TempDir Path seed) throws Exception {
+        Files.createDirectories(seed.resolve("nested/deeper"));
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(seed.resolve("nested/deeper/object-" + i + ".txt"), "value-" + i);
+        }
+        Files.writeString(seed.resolve("top.txt"), "top");
+
+        try (CephContainer container = new CephContainer().withSeedData(seed)) {
+            container.start();
+            S3Client s3client = getS3client(container);
+
+            assertThat(s3client.listObjectsV2(b -> b.bucket("demo")).contents())
+                    .extracting(S3Object::key)
+                    .hasSize(21)
+                    .contains("top.txt", "nested/deeper/object-7.txt");
+            assertThat(s3client.getObjectAsBytes(b -> b.bucket("demo").key("nested/deeper/object-7.txt")).asUtf8String())
+                    .isEqualTo("value-7");
+            assertThat(container.getStartupProfile().getPhase(CephStartupPhase.SEED_DATA)).isPresent();
+            CephSeedResult seeded = container.getSeedResult();
+            assertThat(seeded.getObjectsSeeded()).isEqualTo(21);
+            // "value-0" to "value-9" plus "value-10" to "value-19" plus "top"
+            assertThat(seeded.getBytesSeeded()).isEqualTo(10 * 7 + 10 * 8 + 3);
+            assertThat(seeded.getDuration()).isPositive();
+
+            container.reset();
+            assertThat(s3client.listObjectsV2(b -> b.bucket("demo")).contents()).hasSize(21);
+            assertThat(container.getSeedResult()).isNotSameAs(seeded);
+        }
+    }
+
+    /**
+     * Changing the seed tree changes the snapshot key.
+     */
+    @Test
+    void testSeedDataConfigurationHash(@TempDir Path seed) throws Exception {
+        Files.writeString(seed.resolve("object.txt"), "value");
+        try (
+                CephContainer plain = new CephContainer();
+                CephContainer seeded = new CephContainer().withSeedData(seed)
+        ) {
+            plain.configure();
+            seeded.configure();
+            String seededHash = seeded.getConfigurationHash();
+            assertThat(seededHash).isNotEqualTo(plain.getConfigurationHash());
+
+            Files.writeString(seed.resolve("another.txt"), "value");
+            assertThat(seeded.getConfigurationHash()).isNotEqualTo(seededHash);
+        }
+        assertThatThrownBy(() -> new CephContainer().withSeedData(seed.resolve("object.txt")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Content-hashed seed data, as used for classpath directories, ignores
+     * modification times but notices a same-size edit.
+     */
+    @Test
+    void testContentHashedSeedDataFingerprint(@TempDir Path seed) throws Exception {
+        Path object = seed.resolve("object.txt");
+        Files.writeString(object, "value");
+        CephSeedData seedData = new CephSeedData(MountableFile.forHostPath(seed), true);
+        String fingerprint = seedData.fingerprint();
+
+        Files.setLastModifiedTime(object, FileTime.fromMillis(Files.getLastModifiedTime(object).toMillis() + 60_000));
+        assertThat(seedData.fingerprint()).isEqualTo(fingerprint);
+
+        Files.writeString(object, "VALUE");
+        assertThat(seedData.fingerprint()).isNotEqualTo(fingerprint);
+    }
+
+    /**
+     * Declared users and buckets exist with their settings when start() returns.
+     */
+    @Test
+    void testProvisioning() throws Exception {
+        try (
+                CephContainer container = new CephContainer()
+                        .withUser(CephUser.builder("tenant-a", "TENANTAKEY", "tenant-a-secret")
+                                .quota(100, -1)
+                                .caps("users=read")
+                                .build())
+                        .withBucket(CephBucket.builder("tenant-a-data")
+                                .owner("tenant-a")
+                                .versioning(true)
+                                .expireAfterDays(1)
+                                .build())
+                        .withBucket(CephBucket.builder("shared").build())
+        ) {
+            container.start();
+            S3Client tenantClient = S3Client.builder()
+                    .credentialsProvider(StaticCredentialsProvider.create(
+                            AwsBasicCredentials.create("TENANTAKEY", "tenant-a-secret")
+                    ))
+                    .endpointOverride(container.getCephUrl())
+                    .region(Region.US_EAST_1)
+                    .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                    .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                    .build();
+
+            assertThat(tenantClient.getBucketVersioning(b -> b.bucket("tenant-a-data")).statusAsString())
+                    .isEqualTo("Enabled");
+            assertThat(tenantClient.getBucketLifecycleConfiguration(b -> b.bucket("tenant-a-data")).rules())
+                    .hasSize(1);
+            assertThat(getS3client(container).listBuckets().buckets())
+                    .extracting(software.amazon.awssdk.services.s3.model.Bucket::name)
+                    .containsExactlyInAnyOrder("demo", "shared");
+            Object user = container.getCephAdmin().radosgwAdmin("user", "info", "--uid=tenant-a");
+            assertThat(CephJson.pathAsLong(user, "user_quota", "max_objects")).isEqualTo(100);
+            assertThat(container.getStartupProfile().getPhase(CephStartupPhase.PROVISIONING)).isPresent();
+
+            tenantClient.putObject(b -> b.bucket("tenant-a-data").key("key"), RequestBody.fromString("value"));
+            assertThat(container.purge("tenant-a-data").getObjectsRemoved()).isEqualTo(1);
+            assertThat(tenantClient.listObjectsV2(b -> b.bucket("tenant-a-data")).contents()).isEmpty();
+            assertThat(tenantClient.getBucketVersioning(b -> b.bucket("tenant-a-data")).statusAsString())
+                    .isEqualTo("Enabled");
+            assertThat(tenantClient.getBucketLifecycleConfiguration(b -> b.bucket("tenant-a-data")).rules())
+                    .hasSize(1);
+        }
+    }
+
+    /**
+     * Buckets must belong to a known user and declarations are part of the snapshot key.
+     */
+    @Test
+    void testProvisioningConfiguration() {
+        try (
+                CephContainer plain = new CephContainer();
+                CephContainer provisioned = new CephContainer()
+                        .withUser(CephUser.builder("tenant-a", "TENANTAKEY", "tenant-a-secret").build())
+                        .withBucket(CephBucket.builder("tenant-a-data").owner("tenant-a").build());
+                CephContainer orphan = new CephContainer()
+                        .withBucket(CephBucket.builder("orphan").owner("nobody").build())
+        ) {
+            plain.configure();
+            provisioned.configure();
+            assertThat(provisioned.getConfigurationHash()).isNotEqualTo(plain.getConfigurationHash());
+            assertThatThrownBy(orphan::configure)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("nobody");
+        }
+    }
+
+    /**
+     * The order in which users and buckets are declared does not change the hash.
+     */
+    @Test
+    void testProvisioningConfigurationHashIgnoresOrder() {
+        CephUser tenantA = CephUser.builder("tenant-a", "TENANTAKEY", "tenant-a-secret").build();
+        CephUser tenantB = CephUser.builder("tenant-b", "TENANTBKEY", "tenant-b-secret").build();
+        CephBucket bucketA = CephBucket.builder("tenant-a-data").owner("tenant-a").build();
+        CephBucket bucketB = CephBucket.builder("tenant-b-data").owner("tenant-b").versioning(true).build();
+        try (
+                CephContainer forward = new CephContainer()
+                        .withUser(tenantA).withUser(tenantB).withBucket(bucketA).withBucket(bucketB);
+                CephContainer reversed = new CephContainer()
+                        .withBucket(bucketB).withBucket(bucketA).withUser(tenantB).withUser(tenantA)
+        ) {
+            forward.configure();
+            reversed.configure();
+            assertThat(forward.getConfigurationHash()).isEqualTo(reversed.getConfigurationHash());
         }
     }
 
@@ -227,6 +850,10 @@ class CephContainerTest {
     }
 
     private static S3Client getS3client(CephContainer container) throws URISyntaxException {
+        return getS3client(container, container.getCephUrl());
+    }
+
+    private static S3Client getS3client(CephContainer container, URI endpoint) {
         final AwsBasicCredentials credentials = AwsBasicCredentials.create(
                 container.getCephAccessKey(),
                 container.getCephSecretKey()
@@ -237,7 +864,7 @@ class CephContainerTest {
         // those with HTTP 400, so opt in only when required.
         return S3Client.builder()
                 .credentialsProvider(credentialsProvider)
-                .endpointOverride(container.getCephUrl())
+                .endpointOverride(endpoint)
                 .region(Region.US_EAST_1)
                 .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
                 .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
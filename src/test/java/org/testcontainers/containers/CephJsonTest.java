@@ -0,0 +1,50 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CephJsonTest {
+
+    @Test
+    void testParsesRadosgwAdminOutput() {
+        Object stats = CephJson.parse("[\n" +
+                "    {\n" +
+                "        \"bucket\": \"demo\",\n" +
+                "        \"owner\": \"demo\",\n" +
+                "        \"versioned\": false,\n" +
+                "        \"placement_rule\": null,\n" +
+                "        \"usage\": {\n" +
+                "            \"rgw.main\": {\n" +
+                "                \"size\": 1.5e3,\n" +
+                "                \"num_objects\": 42\n" +
+                "            }\n" +
+                "        },\n" +
+                "        \"tags\": [\"a\\\"b\", \"\\u00e6\"]\n" +
+                "    }\n" +
+                "]\n");
+
+        assertThat(stats).isInstanceOf(List.class);
+        Map<?, ?> bucket = (Map<?, ?>) ((List<?>) stats).get(0);
+        assertThat(bucket.get("owner")).isEqualTo("demo");
+        assertThat(bucket.get("versioned")).isEqualTo(false);
+        assertThat(bucket.containsKey("placement_rule")).isTrue();
+        assertThat(CephJson.pathAsLong(bucket, "usage", "rgw.main", "num_objects")).isEqualTo(42L);
+        assertThat(CephJson.path(bucket, "usage", "rgw.main", "size")).isEqualTo(1500.0);
+        assertThat(CephJson.pathAsLong(bucket, "usage", "rgw.none", "num_objects")).isZero();
+        assertThat(bucket.get("tags")).isEqualTo(Arrays.asList("a\"b", "æ"));
+    }
+
+    @Test
+    void testRejectsMalformedJson() {
+        assertThatThrownBy(() -> CephJson.parse("{\"a\": 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CephJson.parse("{} trailing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
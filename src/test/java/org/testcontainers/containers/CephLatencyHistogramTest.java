@@ -0,0 +1,39 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CephLatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinPrecision() {
+        CephLatencyHistogram histogram = new CephLatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getPercentile(50).toNanos()).isCloseTo(5_000_000L, within(80_000L));
+        assertThat(histogram.getPercentile(99).toNanos()).isCloseTo(9_900_000L, within(160_000L));
+        assertThat(histogram.getPercentile(100)).isEqualTo(Duration.ofMillis(10));
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofMillis(10));
+        assertThat(histogram.getMean().toNanos()).isEqualTo(5_000_500L);
+    }
+
+    @Test
+    void testBucketsCoverAllValues() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1_000_000, Long.MAX_VALUE}) {
+            int index = CephLatencyHistogram.bucketIndex(value);
+            // The value lies above the previous bucket and within its own
+            assertThat(CephLatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(CephLatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(new CephLatencyHistogram().getPercentile(99)).isEqualTo(Duration.ZERO);
+    }
+}
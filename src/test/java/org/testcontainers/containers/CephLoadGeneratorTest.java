@@ -0,0 +1,73 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CephLoadGeneratorTest {
+
+    @Test
+    void testClosedLoopAndFixedRate() {
+        try (CephContainer container = new CephContainer()) {
+            container.start();
+
+            CephLoadResult closedLoop = CephLoadGenerator.builder(container)
+                    .operation(CephLoadOperation.PUT, 30)
+                    .operation(CephLoadOperation.GET, 60)
+                    .operation(CephLoadOperation.LIST, 5)
+                    .operation(CephLoadOperation.DELETE, 5)
+                    .objectSizes(1024, 64 * 1024)
+                    .keySpace(50)
+                    .concurrency(8)
+                    .warmup(Duration.ofSeconds(1))
+                    .duration(Duration.ofSeconds(3))
+                    .build()
+                    .run();
+
+            assertThat(closedLoop.getOperationCount()).isPositive();
+            assertThat(closedLoop.getErrorCount()).isZero();
+            assertThat(closedLoop.getThroughput()).isPositive();
+            assertThat(closedLoop.getOperation(CephLoadOperation.GET).getLatency().getPercentile(99)).isPositive();
+            assertThat(closedLoop.getOperation(CephLoadOperation.PUT).getBytes()).isPositive();
+
+            CephLoadResult fixedRate = CephLoadGenerator.builder(container)
+                    .keySpace(10)
+                    .fixedRate(50)
+                    .duration(Duration.ofSeconds(2))
+                    .build()
+                    .run();
+
+            assertThat(fixedRate.getOperationCount()).isBetween(90L, 110L);
+        }
+    }
+
+    @Test
+    void testRejectsUnusableRates() {
+        try (CephContainer container = new CephContainer()) {
+            CephLoadGenerator.Builder builder = CephLoadGenerator.builder(container);
+            for (double rate : new double[]{0, -1, Double.NaN, Double.POSITIVE_INFINITY, 2e9}) {
+                assertThatThrownBy(() -> builder.fixedRate(rate))
+                        .as("rate %s", rate)
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+            builder.fixedRate(CephLoadGenerator.MAX_OPERATIONS_PER_SECOND);
+        }
+    }
+
+    @Test
+    void testRejectsUnusableSizesAndDurations() {
+        try (CephContainer container = new CephContainer()) {
+            CephLoadGenerator.Builder builder = CephLoadGenerator.builder(container);
+            assertThatThrownBy(() -> builder.objectSizes(4096, 0)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.objectSizes(-1)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.warmup(null)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.warmup(Duration.ofSeconds(-1))).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.duration(null)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.duration(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+            builder.objectSizes(1).warmup(Duration.ZERO).duration(Duration.ofMillis(1));
+        }
+    }
+}
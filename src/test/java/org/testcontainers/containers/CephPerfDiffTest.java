@@ -0,0 +1,45 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CephPerfDiffTest {
+
+    @Test
+    void testDiffOfTwoSnapshots() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        CephPerfSnapshot before = snapshot(start, 10, 2, 0, 0.0, 1, 100);
+        CephPerfSnapshot after = snapshot(start.plusSeconds(2), 15, 5, 4096, 0.003, 4, 160);
+
+        CephPerfDiff diff = after.since(before);
+
+        assertThat(diff.getElapsed()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(diff.getRgwRequests()).isEqualTo(5);
+        assertThat(diff.getRgwOpCounts())
+                .containsEntry("get", 3L)
+                .containsEntry("put", 0L)
+                .containsEntry("list_obj", 3L);
+        assertThat(diff.getRgwBytesOut()).isEqualTo(4096);
+        assertThat(diff.getRgwGetLatency()).isEqualTo(Duration.ofMillis(1));
+        // Two OSDs are summed
+        assertThat(diff.getOsdOps()).isEqualTo(120);
+        assertThat(diff.getRgw().getCount("rgw.missing")).isZero();
+    }
+
+    private static CephPerfSnapshot snapshot(Instant at, long requests, long gets, long getBytes, double getLatencySum,
+                                             long listOps, long osdOps) {
+        String rgw = "{\"rgw\": {\"req\": " + requests + ", \"get\": " + gets + ", \"put\": 0, \"get_b\": " + getBytes +
+                ", \"get_initial_lat\": {\"avgcount\": " + gets + ", \"sum\": " + getLatencySum + ", \"avgtime\": 0.001}}," +
+                " \"rgw_op\": {\"list_obj_ops\": " + listOps + ", \"list_obj_lat\": {\"avgcount\": 0, \"sum\": 0.0}}}";
+        String osd = "{\"osd\": {\"op\": " + osdOps + ", \"op_latency\": {\"avgcount\": 1, \"sum\": 0.1}," +
+                " \"op_r_latency_in_bytes_histogram\": {\"axes\": []}}}";
+        Object dumps = CephJson.parse("{\"ceph-client.rgw.localhost.7.94\": " + rgw +
+                ", \"ceph-osd.0\": " + osd + ", \"ceph-osd.1\": " + osd + "}");
+        return CephPerfSnapshot.of(at, (Map<?, ?>) dumps);
+    }
+}
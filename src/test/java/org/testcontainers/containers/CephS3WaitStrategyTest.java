@@ -0,0 +1,74 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CephS3WaitStrategyTest {
+
+    /**
+     * An RGW that accepts connections but never answers must not hold the
+     * probe past its startup timeout.
+     */
+    @Test
+    void testStalledGatewayTimesOut() throws Exception {
+        List<Socket> accepted = Collections.synchronizedList(new ArrayList<>());
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                try {
+                    while (true) {
+                        accepted.add(server.accept());
+                    }
+                } catch (Exception e) {
+                    // server closed
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            CephS3WaitStrategy strategy = new CephS3WaitStrategy(8080, "demo", "secret", "demo");
+            strategy.withStartupTimeout(Duration.ofSeconds(1));
+            WaitStrategyTarget target = new WaitStrategyTarget() {
+                @Override
+                public List<Integer> getExposedPorts() {
+                    return Collections.singletonList(8080);
+                }
+
+                @Override
+                public InspectContainerResponse getContainerInfo() {
+                    return null;
+                }
+
+                @Override
+                public String getHost() {
+                    return "localhost";
+                }
+
+                @Override
+                public Integer getMappedPort(int originalPort) {
+                    return server.getLocalPort();
+                }
+            };
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                    assertThatThrownBy(() -> strategy.waitUntilReady(target))
+                            .isInstanceOf(ContainerLaunchException.class)
+                            .hasMessageContaining("no response within")
+            );
+        } finally {
+            for (Socket socket : accepted) {
+                socket.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.testcontainers.containers;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CephStartupProfilerTest {
+
+    @Test
+    void testPhasesFollowLogOutput() {
+        StepClock clock = new StepClock();
+        CephStartupProfiler profiler = new CephStartupProfiler(clock);
+
+        clock.advance(2000);
+        profiler.mark(CephStartupPhase.CONTAINER_CREATE);
+        clock.advance(100);
+        profiler.mark(CephStartupPhase.CONTAINER_START);
+        clock.advance(400);
+        profiler.mark(CephStartupPhase.MON);
+        clock.advance(5000);
+        profiler.accept(line("exec: PID 120: spawning /usr/bin/ceph-osd --cluster ceph"));
+        clock.advance(3000);
+        profiler.accept(line("exec: PID 300: spawning /usr/bin/radosgw --cluster ceph"));
+        clock.advance(1000);
+        // Late mention of an earlier daemon must not rewind the profile
+        profiler.accept(line("ceph-osd: heartbeat"));
+        profiler.accept(line("Bucket 's3://demo/' created"));
+        clock.advance(500);
+
+        CephStartupProfile profile = profiler.finish();
+
+        assertThat(profile.getTotalDuration()).isEqualTo(Duration.ofMillis(12000));
+        assertThat(profile.getPhases())
+                .extracting(CephStartupProfile.PhaseTiming::getPhase)
+                .containsExactly(
+                        CephStartupPhase.IMAGE_PULL,
+                        CephStartupPhase.CONTAINER_CREATE,
+                        CephStartupPhase.CONTAINER_START,
+                        CephStartupPhase.MON,
+                        CephStartupPhase.OSD,
+                        CephStartupPhase.RGW,
+                        CephStartupPhase.DEMO_BUCKET
+                );
+        assertThat(profile.getPhase(CephStartupPhase.IMAGE_PULL).get().getDuration()).isEqualTo(Duration.ofMillis(2000));
+        assertThat(profile.getPhase(CephStartupPhase.MON).get().getDuration()).isEqualTo(Duration.ofMillis(5000));
+        assertThat(profile.getPhase(CephStartupPhase.OSD).get().getOffset()).isEqualTo(Duration.ofMillis(7500));
+        assertThat(profile.getPhase(CephStartupPhase.RGW).get().getDuration()).isEqualTo(Duration.ofMillis(1000));
+        assertThat(profile.getPhase(CephStartupPhase.DEMO_BUCKET).get().getDuration()).isEqualTo(Duration.ofMillis(500));
+        assertThat(profile.getPhase(CephStartupPhase.MGR)).isEmpty();
+    }
+
+    private static OutputFrame line(String line) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, (line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class StepClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}